@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+#
+# Time from JVM launch to the first successful GET /api/products/{id}, per startup mode
+#
+# Build first with: mvn -Pfast-startup package
+# Usage: scripts/time-to-first-request.sh [runs]   (default 5, median reported)
+# Needs the database (docker-compose up -d) and a user to log in as (USERNAME / PASSWORD,
+# default user / password123). The product is PRODUCT_ID, or one created before measuring.
+# The token is issued once up front, so the JWT signing key must not change between runs.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+JAR=target/reactive-product-service-1.0.0.jar
+USERNAME=${USERNAME:-user}
+PASSWORD=${PASSWORD:-password123}
+BASE_URL="http://localhost:${PORT}"
+
+if [[ ! -f "$JAR" || ! -f target/application.jsa ]]; then
+    echo "Missing $JAR or target/application.jsa - run: mvn -Pfast-startup package" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+json_field() {
+    sed -n "s/.*\"$1\": *\"\{0,1\}\([^\",}]*\).*/\1/p"
+}
+
+# Starts the app once to log in and pick the product, then stops it
+prepare() {
+    local pid
+    java -Dserver.port="$PORT" -jar "$JAR" > /dev/null 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "$BASE_URL/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited during startup" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/login" -H "Content-Type: application/json" \
+        -d "{\"username\": \"$USERNAME\", \"password\": \"$PASSWORD\"}" | json_field token)
+    if [[ -z "${PRODUCT_ID:-}" && -n "$TOKEN" ]]; then
+        PRODUCT_ID=$(curl -s -X POST "$BASE_URL/api/products" -H "Authorization: Bearer $TOKEN" \
+            -H "Content-Type: application/json" \
+            -d '{"name": "Startup probe", "description": "time-to-first-request", "price": 1.00, "quantity": 1}' \
+            | json_field id)
+    fi
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    if [[ -z "$TOKEN" || -z "${PRODUCT_ID:-}" ]]; then
+        echo "could not log in as $USERNAME or find a product - is the database up?" >&2
+        exit 1
+    fi
+}
+
+# Launches the jar with the given JVM flags and prints ms until the first authenticated
+# product lookup succeeds (connection pool, security chain and repository all warmed by it)
+time_once() {
+    local start pid elapsed status
+    start=$(now_ms)
+    java "$@" -Dserver.port="$PORT" -jar "$JAR" > /dev/null 2>&1 &
+    pid=$!
+    while true; do
+        status=$(curl -s -o /dev/null -w '%{http_code}' -H "Authorization: Bearer $TOKEN" \
+            "$BASE_URL/api/products/$PRODUCT_ID" || true)
+        [[ "$status" == 200 ]] && break
+        if [[ "$status" != 000 ]] || ! kill -0 "$pid" 2> /dev/null; then
+            echo "no product response (HTTP $status)" >&2
+            kill "$pid" 2> /dev/null || true
+            exit 1
+        fi
+        sleep 0.01
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+measure() {
+    local name=$1
+    shift
+    local samples=()
+    for ((i = 0; i < RUNS; i++)); do
+        samples+=("$(time_once "$@")")
+    done
+    local median
+    median=$(printf '%s\n' "${samples[@]}" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p")
+    printf '%-28s median %6s ms   (%s)\n' "$name" "$median" "${samples[*]}"
+}
+
+prepare
+measure "baseline"
+measure "aot" -Dspring.aot.enabled=true
+measure "aot + cds" -Dspring.aot.enabled=true -XX:SharedArchiveFile=target/application.jsa
+measure "aot + cds + lazy init" -Dspring.aot.enabled=true -XX:SharedArchiveFile=target/application.jsa \
+    -Dspring.main.lazy-initialization=true
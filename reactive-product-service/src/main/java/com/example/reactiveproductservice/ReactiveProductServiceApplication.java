@@ -2,13 +2,23 @@ package com.example.reactiveproductservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableR2dbcRepositories
+@EnableScheduling
 public class ReactiveProductServiceApplication {
 
+    // Startup steps kept for the timeline report (-Dstartup.timeline=true)
+    private static final int STARTUP_TIMELINE_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(ReactiveProductServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(ReactiveProductServiceApplication.class);
+        if (Boolean.getBoolean("startup.timeline")) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+        }
+        application.run(args);
     }
 }
@@ -0,0 +1,25 @@
+package com.example.reactiveproductservice.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the product catalog, bumped by every write in ProductService
+ *
+ * Cached query results are stamped with the version they were read at and are only
+ * served while it is still current - one increment invalidates every cached result.
+ */
+@Component
+public class CatalogVersion {
+    
+    private final AtomicLong version = new AtomicLong();
+    
+    public long current() {
+        return version.get();
+    }
+    
+    public long bump() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.reactiveproductservice.cache;
+
+import com.example.reactiveproductservice.model.Product;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of products by id
+ *
+ * Local writes update or evict entries directly. Entries loaded by reads are only stored
+ * if no write happened while they were read (checked against CatalogVersion), so a slow
+ * read cannot overwrite a newer product. A TTL bounds staleness from other instances.
+ *
+ * Entries are spread over independently locked LRU stripes, so concurrent lookups of
+ * different ids rarely contend; LRU order and the size bound are per stripe. Products are
+ * copied in and out, since callers (and Jackson) may hold on to or modify what they get.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private static final int STRIPES = 16;
+
+    private final CatalogVersion catalogVersion;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Long, Entry>[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ProductCache(CatalogVersion catalogVersion,
+                        @Value("${cache.product.max-entries:10000}") int maxEntries,
+                        @Value("${cache.product.ttl:PT30S}") Duration ttl) {
+        this.catalogVersion = catalogVersion;
+        this.ttlNanos = ttl.toNanos();
+        int maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        this.stripes = new LinkedHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > maxEntriesPerStripe;
+                }
+            };
+        }
+    }
+
+    public Product get(Long id) {
+        long now = System.nanoTime();
+        LinkedHashMap<Long, Entry> stripe = stripeFor(id);
+        Product product = null;
+        synchronized (stripe) {
+            Entry entry = stripe.get(id);
+            if (entry != null && now - entry.createdNanos < ttlNanos) {
+                product = entry.product;
+            } else if (entry != null) {
+                stripe.remove(id);
+            }
+        }
+        if (product == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(product);
+    }
+
+    /**
+     * Cached products for the given ids (absent ids are simply not in the map)
+     */
+    public Map<Long, Product> getAll(long[] ids) {
+        Map<Long, Product> found = new HashMap<>(ids.length * 2);
+        for (long id : ids) {
+            Product product = get(id);
+            if (product != null) {
+                found.put(id, product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Store a product just written by this instance
+     */
+    public void put(Product product) {
+        Entry entry = new Entry(copy(product), System.nanoTime());
+        LinkedHashMap<Long, Entry> stripe = stripeFor(product.getId());
+        synchronized (stripe) {
+            stripe.put(product.getId(), entry);
+        }
+    }
+
+    /**
+     * Store products read at the given catalog version, unless a write has happened since
+     *
+     * The version is checked under the product's stripe lock, the same lock a write's put or
+     * evict (issued after its version bump) takes, so a stale read can never land after it.
+     */
+    public void putIfCurrent(Collection<Product> products, long version) {
+        long now = System.nanoTime();
+        for (Product product : products) {
+            Entry entry = new Entry(copy(product), now);
+            LinkedHashMap<Long, Entry> stripe = stripeFor(product.getId());
+            synchronized (stripe) {
+                if (catalogVersion.current() != version) {
+                    return;
+                }
+                stripe.put(product.getId(), entry);
+            }
+        }
+    }
+
+    public void evict(Long id) {
+        LinkedHashMap<Long, Entry> stripe = stripeFor(id);
+        synchronized (stripe) {
+            stripe.remove(id);
+        }
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        int total = 0;
+        for (LinkedHashMap<Long, Entry> stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.size();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("product.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("product.cache.hit.ratio", this, ProductCache::hitRatio)
+                .register(registry);
+        Gauge.builder("product.cache.size", this, ProductCache::size)
+                .register(registry);
+    }
+
+    private LinkedHashMap<Long, Entry> stripeFor(Long id) {
+        int h = id.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getQuantity(), product.getCreatedAt(), product.getUpdatedAt());
+    }
+
+    private record Entry(Product product, long createdNanos) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.reactiveproductservice.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of product query results, stored as id lists
+ *
+ * Keys are normalized queries ("name:" + lower-cased term, "price<" + price without trailing
+ * zeros). Entries remember the catalog version they were read at and are treated as misses
+ * once it changes; a TTL bounds staleness from writes made by other instances. Eviction is
+ * LRU by estimated size in bytes.
+ *
+ * Like ProductCache, entries are spread over independently locked stripes (each with an
+ * equal share of the weight budget), so hits on different queries rarely contend. Fewer
+ * stripes are used when a share could not hold the largest cacheable result.
+ */
+@Component
+public class SearchResultCache implements MeterBinder {
+
+    // Rough per-entry footprint: map node, key object, entry object, array header
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+    private static final int STRIPES = 16;
+
+    private final boolean enabled;
+    private final int maxIdsPerEntry;
+    private final long ttlNanos;
+
+    private final Stripe[] stripes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SearchResultCache(@Value("${cache.search.enabled:true}") boolean enabled,
+                             @Value("${cache.search.max-weight-bytes:4194304}") long maxWeightBytes,
+                             @Value("${cache.search.max-ids-per-entry:1000}") int maxIdsPerEntry,
+                             @Value("${cache.search.ttl:PT30S}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxIdsPerEntry = maxIdsPerEntry;
+        this.ttlNanos = ttl.toNanos();
+        long largestEntryBytes = ENTRY_OVERHEAD_BYTES + 8L * maxIdsPerEntry;
+        int stripeCount = Integer.highestOneBit(
+                (int) Math.max(1, Math.min(STRIPES, maxWeightBytes / largestEntryBytes)));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(maxWeightBytes / stripeCount);
+        }
+    }
+
+    public static String nameKey(String term) {
+        return "name:" + term.toLowerCase(Locale.ROOT);
+    }
+
+    public static String priceBelowKey(BigDecimal price) {
+        return "price<" + price.stripTrailingZeros().toPlainString();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Results larger than this are not cached
+     */
+    public int getMaxIdsPerEntry() {
+        return maxIdsPerEntry;
+    }
+
+    /**
+     * Cached ids for the key if they were read at the given catalog version, else null
+     */
+    public long[] get(String key, long version) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(key);
+            if (entry != null && entry.version == version && now - entry.createdNanos < ttlNanos) {
+                hits.increment();
+                return entry.ids;
+            }
+            if (entry != null) {
+                stripe.entries.remove(key);
+                stripe.weightBytes -= entry.weightBytes;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String key, long version, long[] ids) {
+        if (!enabled || ids.length > maxIdsPerEntry) {
+            return;
+        }
+        Entry entry = new Entry(ids, version, System.nanoTime(), weigh(key, ids));
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry previous = stripe.entries.put(key, entry);
+            if (previous != null) {
+                stripe.weightBytes -= previous.weightBytes;
+            }
+            stripe.weightBytes += entry.weightBytes;
+            Iterator<Map.Entry<String, Entry>> eldest = stripe.entries.entrySet().iterator();
+            while (stripe.weightBytes > stripe.maxWeightBytes && eldest.hasNext()) {
+                stripe.weightBytes -= eldest.next().getValue().weightBytes;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    public double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public long getWeightBytes() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.weightBytes;
+            }
+        }
+        return total;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.entries.size();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("product.search.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("product.search.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("product.search.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("product.search.cache.hit.ratio", this, SearchResultCache::hitRatio)
+                .register(registry);
+        Gauge.builder("product.search.cache.size", this, SearchResultCache::size)
+                .register(registry);
+        Gauge.builder("product.search.cache.weight", this, SearchResultCache::getWeightBytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static long weigh(String key, long[] ids) {
+        return ENTRY_OVERHEAD_BYTES + 2L * key.length() + 8L * ids.length;
+    }
+
+    private record Entry(long[] ids, long version, long createdNanos, long weightBytes) {
+    }
+
+    private static final class Stripe {
+
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxWeightBytes;
+        private long weightBytes;
+
+        private Stripe(long maxWeightBytes) {
+            }
+    }
+}
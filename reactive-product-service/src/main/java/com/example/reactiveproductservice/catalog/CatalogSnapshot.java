@@ -0,0 +1,290 @@
+package com.example.reactiveproductservice.catalog;
+
+import com.example.reactiveproductservice.model.Product;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar copy of the products table
+ *
+ * Rows are stored in id order as parallel primitive arrays (id, price in cents, quantity);
+ * byPrice is a permutation of row numbers sorted by (price, id), so price filters are a
+ * binary search plus a scan and never touch BigDecimal. Price, timestamps and names are
+ * kept as shared references: building a result allocates only the Product itself.
+ *
+ * Writes produce a new snapshot (copy-on-write, O(n)) - readers never lock.
+ */
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(0);
+
+    private final int size;
+    private final long[] ids;
+    private final long[] priceCents;
+    private final int[] quantities;
+    private final String[] names;
+    private final String[] descriptions;
+    private final BigDecimal[] prices;
+    private final LocalDateTime[] createdAt;
+    private final LocalDateTime[] updatedAt;
+    private final int[] byPrice;
+
+    private CatalogSnapshot(int size) {
+        this.size = size;
+        this.ids = new long[size];
+        this.priceCents = new long[size];
+        this.quantities = new int[size];
+        this.names = new String[size];
+        this.descriptions = new String[size];
+        this.prices = new BigDecimal[size];
+        this.createdAt = new LocalDateTime[size];
+        this.updatedAt = new LocalDateTime[size];
+        this.byPrice = new int[size];
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot of(List<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparing(Product::getId));
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(sorted.size());
+        Map<String, String> namePool = new HashMap<>();
+        for (int row = 0; row < sorted.size(); row++) {
+            snapshot.set(row, sorted.get(row));
+            snapshot.names[row] = namePool.computeIfAbsent(snapshot.names[row], name -> name);
+        }
+
+        int[] order = IntStream.range(0, snapshot.size)
+                .boxed()
+                .sorted(snapshot.priceOrder())
+                .mapToInt(Integer::intValue)
+                .toArray();
+        System.arraycopy(order, 0, snapshot.byPrice, 0, order.length);
+        return snapshot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Products with price strictly below the given price, cheapest first
+     */
+    public List<Product> findByPriceLessThan(BigDecimal price) {
+        long maxCents = toCents(price, RoundingMode.CEILING);
+        if (maxCents == Long.MIN_VALUE) {
+            return List.of();
+        }
+        return findByPriceRange(Long.MIN_VALUE, maxCents - 1, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Products with minPrice <= price <= maxPrice (null = unbounded), sorted by price, at most limit rows
+     */
+    public List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit) {
+        long minCents = minPrice == null ? Long.MIN_VALUE : toCents(minPrice, RoundingMode.CEILING);
+        long maxCents = maxPrice == null ? Long.MAX_VALUE : toCents(maxPrice, RoundingMode.FLOOR);
+        return findByPriceRange(minCents, maxCents, descending, limit);
+    }
+
+    /**
+     * Core range scan over the price index, bounds in cents (inclusive)
+     */
+    public List<Product> findByPriceRange(long minCents, long maxCents, boolean descending, int limit) {
+        if (minCents > maxCents || limit <= 0) {
+            return List.of();
+        }
+        int from = lowerBound(minCents);
+        int to = maxCents == Long.MAX_VALUE ? size : lowerBound(maxCents + 1);
+        int count = Math.min(to - from, limit);
+        if (count <= 0) {
+            return List.of();
+        }
+
+        List<Product> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int position = descending ? to - 1 - i : from + i;
+            result.add(toProduct(byPrice[position]));
+        }
+        return result;
+    }
+
+    /**
+     * New snapshot with the product inserted or replaced
+     */
+    public CatalogSnapshot withProduct(Product product) {
+        int row = Arrays.binarySearch(ids, 0, size, product.getId());
+        if (row >= 0) {
+            CatalogSnapshot next = copy(size);
+            next.set(row, product);
+            int[] withoutRow = indexWithout(byPrice, size, row, false);
+            next.insertIntoPriceIndex(withoutRow, size - 1, row);
+            return next;
+        }
+
+        int insertAt = -row - 1;
+        CatalogSnapshot next = new CatalogSnapshot(size + 1);
+        copyWithGap(ids, size, insertAt, next.ids);
+        copyWithGap(priceCents, size, insertAt, next.priceCents);
+        copyWithGap(quantities, size, insertAt, next.quantities);
+        copyWithGap(names, size, insertAt, next.names);
+        copyWithGap(descriptions, size, insertAt, next.descriptions);
+        copyWithGap(prices, size, insertAt, next.prices);
+        copyWithGap(createdAt, size, insertAt, next.createdAt);
+        copyWithGap(updatedAt, size, insertAt, next.updatedAt);
+        next.set(insertAt, product);
+
+        // Rows at or after the insertion point moved down by one
+        int[] shifted = new int[size];
+        for (int i = 0; i < size; i++) {
+            shifted[i] = byPrice[i] >= insertAt ? byPrice[i] + 1 : byPrice[i];
+        }
+        next.insertIntoPriceIndex(shifted, size, insertAt);
+        return next;
+    }
+
+    /**
+     * New snapshot without the given id (same snapshot if absent)
+     */
+    public CatalogSnapshot withoutProduct(long id) {
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            return this;
+        }
+
+        CatalogSnapshot next = new CatalogSnapshot(size - 1);
+        copyWithout(ids, size, row, next.ids);
+        copyWithout(priceCents, size, row, next.priceCents);
+        copyWithout(quantities, size, row, next.quantities);
+        copyWithout(names, size, row, next.names);
+        copyWithout(descriptions, size, row, next.descriptions);
+        copyWithout(prices, size, row, next.prices);
+        copyWithout(createdAt, size, row, next.createdAt);
+        copyWithout(updatedAt, size, row, next.updatedAt);
+        System.arraycopy(indexWithout(byPrice, size, row, true), 0, next.byPrice, 0, size - 1);
+        return next;
+    }
+
+    /**
+     * Price in whole cents; prices are DECIMAL(10, 2) so this is exact for stored values
+     */
+    static long toCents(BigDecimal price, RoundingMode rounding) {
+        BigDecimal cents = price.movePointRight(2).setScale(0, rounding);
+        if (cents.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    private void set(int row, Product product) {
+        ids[row] = product.getId();
+        prices[row] = product.getPrice();
+        priceCents[row] = toCents(product.getPrice(), RoundingMode.HALF_UP);
+        quantities[row] = product.getQuantity() == null ? 0 : product.getQuantity();
+        names[row] = product.getName();
+        descriptions[row] = product.getDescription();
+        createdAt[row] = product.getCreatedAt();
+        updatedAt[row] = product.getUpdatedAt();
+    }
+
+    private Product toProduct(int row) {
+        return new Product(ids[row], names[row], descriptions[row], prices[row],
+                quantities[row], createdAt[row], updatedAt[row]);
+    }
+
+    private Comparator<Integer> priceOrder() {
+        return (a, b) -> comparePriceOrder(a, b);
+    }
+
+    private int comparePriceOrder(int rowA, int rowB) {
+        int byCents = Long.compare(priceCents[rowA], priceCents[rowB]);
+        return byCents != 0 ? byCents : Integer.compare(rowA, rowB);
+    }
+
+    /**
+     * First position in the price index whose price is >= cents
+     */
+    private int lowerBound(long cents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (priceCents[byPrice[mid]] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Fill this snapshot's price index from a sorted index of length - 1 entries plus the given row
+     */
+    private void insertIntoPriceIndex(int[] sortedWithoutRow, int length, int row) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePriceOrder(sortedWithoutRow[mid], row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(sortedWithoutRow, 0, byPrice, 0, low);
+        byPrice[low] = row;
+        System.arraycopy(sortedWithoutRow, low, byPrice, low + 1, length - low);
+    }
+
+    private static int[] indexWithout(int[] index, int length, int row, boolean renumber) {
+        int[] result = new int[length - 1];
+        int j = 0;
+        for (int i = 0; i < length; i++) {
+            int value = index[i];
+            if (value == row) {
+                continue;
+            }
+            result[j++] = renumber && value > row ? value - 1 : value;
+        }
+        return result;
+    }
+
+    private CatalogSnapshot copy(int newSize) {
+        CatalogSnapshot next = new CatalogSnapshot(newSize);
+        System.arraycopy(ids, 0, next.ids, 0, size);
+        System.arraycopy(priceCents, 0, next.priceCents, 0, size);
+        System.arraycopy(quantities, 0, next.quantities, 0, size);
+        System.arraycopy(names, 0, next.names, 0, size);
+        System.arraycopy(descriptions, 0, next.descriptions, 0, size);
+        System.arraycopy(prices, 0, next.prices, 0, size);
+        System.arraycopy(createdAt, 0, next.createdAt, 0, size);
+        System.arraycopy(updatedAt, 0, next.updatedAt, 0, size);
+        return next;
+    }
+
+    private static void copyWithGap(Object source, int length, int index, Object target) {
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index, target, index + 1, length - index);
+    }
+
+    private static void copyWithout(Object source, int length, int index, Object target) {
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, length - index - 1);
+    }
+}
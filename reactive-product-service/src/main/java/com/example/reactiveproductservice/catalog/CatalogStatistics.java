@@ -0,0 +1,228 @@
+package com.example.reactiveproductservice.catalog;
+
+import com.example.reactiveproductservice.dto.ProductStatsResponse;
+import com.example.reactiveproductservice.model.Product;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventory aggregates kept up to date by ProductService writes
+ *
+ * Every write adds its delta to LongAdders (count, stock, value in cents, one per price
+ * bucket), so reading the stats is O(buckets) regardless of catalog size. A scheduled
+ * SQL aggregate corrects any drift (e.g. writes made by other instances).
+ *
+ * Writes run through tracked(), which registers them before the statement is sent: a write
+ * that commits before its delta is applied would otherwise be counted by both the aggregate
+ * and the delta.
+ */
+@Component
+@Slf4j
+public class CatalogStatistics {
+
+    private final DatabaseClient databaseClient;
+    private final BigDecimal[] bucketBounds;
+    private final long[] bucketBoundCents;
+    private final String reconcileSql;
+    private final int maxSkippedReconciles;
+
+    private final LongAdder productCount = new LongAdder();
+    private final LongAdder totalStock = new LongAdder();
+    private final LongAdder inventoryValueCents = new LongAdder();
+    private final LongAdder[] bucketCounts;
+
+    // Bumped when a write starts; writes still running are counted in writesInFlight
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+    private int skippedReconciles;
+    private volatile LocalDateTime reconciledAt;
+
+    public CatalogStatistics(DatabaseClient databaseClient,
+                             @Value("${catalog.stats.price-buckets:10,50,100,500,1000}") String[] bucketBounds,
+                             @Value("${catalog.stats.max-skipped-reconciles:3}") int maxSkippedReconciles) {
+        this.databaseClient = databaseClient;
+        this.maxSkippedReconciles = maxSkippedReconciles;
+        this.bucketBounds = Arrays.stream(bucketBounds)
+                .map(String::trim)
+                .map(BigDecimal::new)
+                .sorted()
+                .toArray(BigDecimal[]::new);
+        this.bucketBoundCents = Arrays.stream(this.bucketBounds)
+                .mapToLong(bound -> CatalogSnapshot.toCents(bound, RoundingMode.CEILING))
+                .toArray();
+        this.bucketCounts = new LongAdder[this.bucketBounds.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+        this.reconcileSql = buildReconcileSql(this.bucketBounds);
+    }
+
+    /**
+     * Wraps a product write whose on* callbacks run when it completes, so a reconcile
+     * overlapping it is not applied
+     */
+    public <T> Mono<T> tracked(Mono<T> write) {
+        return Mono.defer(() -> {
+            writesInFlight.incrementAndGet();
+            writeSequence.incrementAndGet();
+            return write.doFinally(signal -> writesInFlight.decrementAndGet());
+        });
+    }
+
+    public void onCreated(Product product) {
+        add(product.getPrice(), product.getQuantity(), 1);
+    }
+
+    public void onUpdated(BigDecimal previousPrice, Integer previousQuantity, Product updated) {
+        add(previousPrice, previousQuantity, -1);
+        add(updated.getPrice(), updated.getQuantity(), 1);
+    }
+
+    public void onDeleted(Product product) {
+        add(product.getPrice(), product.getQuantity(), -1);
+    }
+
+    public ProductStatsResponse snapshot() {
+        List<ProductStatsResponse.PriceBucket> buckets = new ArrayList<>(bucketCounts.length);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal min = i == 0 ? BigDecimal.ZERO : bucketBounds[i - 1];
+            BigDecimal max = i < bucketBounds.length ? bucketBounds[i] : null;
+            buckets.add(new ProductStatsResponse.PriceBucket(min, max, bucketCounts[i].sum()));
+        }
+        return new ProductStatsResponse(
+                productCount.sum(),
+                totalStock.sum(),
+                BigDecimal.valueOf(inventoryValueCents.sum(), 2),
+                buckets,
+                reconciledAt);
+    }
+
+    /**
+     * Correct the running totals with a SQL aggregate. Skipped when a local write overlaps
+     * the query (the next run picks it up), at most catalog.stats.max-skipped-reconciles times
+     * in a row; after that it is applied anyway and may be off by the overlapping writes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${catalog.stats.reconcile-interval:PT10M}",
+               initialDelayString = "${catalog.stats.reconcile-interval:PT10M}")
+    public void scheduledReconcile() {
+        reconcile().subscribe(
+                applied -> {
+                    if (!applied) {
+                        log.debug("Catalog statistics changed during reconciliation - skipped");
+                    }
+                },
+                e -> log.error("Failed to reconcile catalog statistics: {}", e.getMessage())
+        );
+    }
+
+    public Mono<Boolean> reconcile() {
+        return Mono.defer(() -> {
+            long startSequence = writeSequence.get();
+            boolean idle = writesInFlight.get() == 0;
+            long[] start = totals();
+            return databaseClient.sql(reconcileSql)
+                    .map(row -> apply(row, idle && writeSequence.get() == startSequence, start))
+                    .one();
+        });
+    }
+
+    /**
+     * Adds the difference between the aggregate and the totals seen when the query started,
+     * so deltas applied while it ran are kept rather than overwritten
+     */
+    private synchronized boolean apply(Row row, boolean consistent, long[] start) {
+        if (!consistent && skippedReconciles < maxSkippedReconciles) {
+            skippedReconciles++;
+            return false;
+        }
+        if (!consistent) {
+            log.warn("Catalog statistics reconciled while writes were running ({} runs skipped before)",
+                    skippedReconciles);
+        }
+        skippedReconciles = 0;
+        long drift = correct(productCount, row.get("product_count", Long.class), start[0]);
+        correct(totalStock, row.get("total_stock", Long.class), start[1]);
+        correct(inventoryValueCents, row.get("value_cents", Long.class), start[2]);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            correct(bucketCounts[i], row.get("bucket_" + i, Long.class), start[3 + i]);
+        }
+        if (drift != 0) {
+            log.info("Reconciled catalog statistics (product count off by {})", drift);
+        }
+        reconciledAt = LocalDateTime.now();
+        return true;
+    }
+
+    private long[] totals() {
+        long[] totals = new long[3 + bucketCounts.length];
+        totals[0] = productCount.sum();
+        totals[1] = totalStock.sum();
+        totals[2] = inventoryValueCents.sum();
+        for (int i = 0; i < bucketCounts.length; i++) {
+            totals[3 + i] = bucketCounts[i].sum();
+        }
+        return totals;
+    }
+
+    private void add(BigDecimal price, Integer quantity, int sign) {
+        int stock = quantity == null ? 0 : quantity;
+        long cents = price == null ? 0 : CatalogSnapshot.toCents(price, RoundingMode.HALF_UP);
+        productCount.add(sign);
+        totalStock.add((long) sign * stock);
+        inventoryValueCents.add(sign * cents * stock);
+        bucketCounts[bucketOf(cents)].add(sign);
+    }
+
+    private int bucketOf(long cents) {
+        int index = Arrays.binarySearch(bucketBoundCents, cents);
+        // Bounds are inclusive lower limits of the next bucket
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static long correct(LongAdder adder, Long target, long start) {
+        long drift = (target == null ? 0 : target) - start;
+        adder.add(drift);
+        return drift;
+    }
+
+    private static String buildReconcileSql(BigDecimal[] bounds) {
+        StringBuilder sql = new StringBuilder("SELECT CAST(COUNT(*) AS BIGINT) AS product_count, ")
+                .append("CAST(COALESCE(SUM(quantity), 0) AS BIGINT) AS total_stock, ")
+                .append("CAST(COALESCE(SUM(ROUND(price * 100) * quantity), 0) AS BIGINT) AS value_cents");
+        for (int i = 0; i <= bounds.length; i++) {
+            sql.append(", CAST(COALESCE(SUM(CASE WHEN ");
+            if (i > 0) {
+                sql.append("price >= ").append(bounds[i - 1].toPlainString());
+            }
+            if (i > 0 && i < bounds.length) {
+                sql.append(" AND ");
+            }
+            if (i < bounds.length) {
+                sql.append("price < ").append(bounds[i].toPlainString());
+            }
+            if (bounds.length == 0) {
+                sql.append("1 = 1");
+            }
+            sql.append(" THEN 1 ELSE 0 END), 0) AS BIGINT) AS bucket_").append(i);
+        }
+        return sql.append(" FROM products").toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.reactiveproductservice.catalog;
+
+import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Optional in-process copy of the catalog for filter queries without a database round-trip
+ *
+ * Loaded at startup when catalog.enabled=true and reloaded periodically (to pick up writes
+ * made by other instances). Local writes are applied incrementally as new snapshots;
+ * readers just read the volatile reference. Until the first load completes, snapshot()
+ * returns null and callers query the database.
+ */
+@Component
+@Slf4j
+public class ColumnarCatalog {
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int maxResults;
+
+    private final Object writeLock = new Object();
+    private long writeSequence;
+    private volatile CatalogSnapshot snapshot;
+
+    public ColumnarCatalog(ProductRepository productRepository,
+                           @Value("${catalog.enabled:false}") boolean enabled,
+                           @Value("${catalog.max-results:1000}") int maxResults) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Current snapshot, or null when disabled or not loaded yet
+     */
+    public CatalogSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Upper bound for the limit of sorted range queries
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${catalog.refresh-interval:PT5M}",
+               initialDelayString = "${catalog.refresh-interval:PT5M}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        reload().subscribe(
+                loaded -> log.info("Loaded {} product(s) into the columnar catalog", loaded.size()),
+                e -> log.error("Failed to load the columnar catalog: {}", e.getMessage())
+        );
+    }
+
+    /**
+     * Full load from the database. A load that overlaps a local write is discarded and
+     * retried, so it can never publish a snapshot older than that write.
+     */
+    public Mono<CatalogSnapshot> reload() {
+        return Mono.defer(() -> {
+                    long startSequence;
+                    synchronized (writeLock) {
+                        startSequence = writeSequence;
+                    }
+                    return productRepository.findAll()
+                            .collectList()
+                            .map(CatalogSnapshot::of)
+                            .filter(loaded -> publish(loaded, startSequence));
+                })
+                .repeatWhenEmpty(MAX_RELOAD_ATTEMPTS, attempts -> attempts);
+    }
+
+    /**
+     * Apply a saved product (insert or update)
+     */
+    public void apply(Product product) {
+        if (!enabled || product == null || product.getId() == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            writeSequence++;
+            if (snapshot != null) {
+                snapshot = snapshot.withProduct(product);
+            }
+        }
+    }
+
+    /**
+     * Apply a delete
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            writeSequence++;
+            if (snapshot != null) {
+                snapshot = snapshot.withoutProduct(id);
+            }
+        }
+    }
+
+    private boolean publish(CatalogSnapshot loaded, long startSequence) {
+        synchronized (writeLock) {
+            if (writeSequence != startSequence) {
+                log.debug("Catalog changed during load - reloading");
+                return false;
+            }
+            snapshot = loaded;
+            return true;
+        }
+    }
+}
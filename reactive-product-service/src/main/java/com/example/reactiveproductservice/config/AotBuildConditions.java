@@ -0,0 +1,109 @@
+package com.example.reactiveproductservice.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Properties behind this application's @ConditionalOnProperty beans, as seen by AOT processing
+ *
+ * process-aot evaluates bean conditions once and the generated bean definitions are fixed, so
+ * an AOT build started with e.g. persistence.backend=jdbc but built without it would quietly
+ * keep the R2DBC repositories. The values are written to a resource during AOT processing
+ * (registered in META-INF/spring/aot.factories) and StartupConfig refuses to start an AOT
+ * build whose runtime values differ.
+ */
+public class AotBuildConditions implements BeanFactoryInitializationAotProcessor {
+
+    static final String RESOURCE = "META-INF/aot-build-conditions.properties";
+
+    private static final String BACKEND = "persistence.backend";
+    // Only whether these are set matters (and the replica URL may carry credentials)
+    private static final List<String> SWITCHES = List.of("replica.r2dbc.url", "netty.event-loop-threads");
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Properties conditions = capture(beanFactory.getBean(Environment.class));
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .addResourceFile(RESOURCE, store(conditions));
+    }
+
+    /**
+     * No-op unless running from AOT-generated artifacts
+     */
+    static void verify(Environment environment, ClassLoader classLoader) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        Properties built = load(classLoader);
+        if (built == null) {
+            throw new IllegalStateException(RESOURCE + " missing - rebuild with mvn -Pfast-startup package");
+        }
+        Properties current = capture(environment);
+        List<String> mismatches = new ArrayList<>();
+        for (String name : current.stringPropertyNames()) {
+            if (!Objects.equals(current.getProperty(name), built.getProperty(name))) {
+                mismatches.add(name + " (" + describe(current, name) + ", built with " + describe(built, name) + ")");
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("AOT build was processed with different settings: "
+                    + String.join(", ", mismatches)
+                    + " - rebuild with the same values or start without -Dspring.aot.enabled=true");
+        }
+    }
+
+    static Properties capture(Environment environment) {
+        Properties conditions = new Properties();
+        conditions.setProperty(BACKEND, environment.getProperty(BACKEND, "").toLowerCase(Locale.ROOT));
+        for (String name : SWITCHES) {
+            // Same test as @ConditionalOnProperty without havingValue
+            String value = environment.getProperty(name);
+            conditions.setProperty(name, Boolean.toString(value != null && !"false".equalsIgnoreCase(value)));
+        }
+        return conditions;
+    }
+
+    private static String describe(Properties conditions, String name) {
+        String value = conditions.getProperty(name);
+        if (value == null || value.isEmpty()) {
+            return "unset";
+        }
+        return SWITCHES.contains(name) ? ("true".equals(value) ? "set" : "unset") : value;
+    }
+
+    private static String store(Properties conditions) {
+        StringWriter writer = new StringWriter();
+        try {
+            conditions.store(writer, "Conditional properties seen by process-aot");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    private static Properties load(ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                return null;
+            }
+            Properties conditions = new Properties();
+            conditions.load(in);
+            return conditions;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
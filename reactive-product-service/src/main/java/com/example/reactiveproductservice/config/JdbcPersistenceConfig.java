@@ -0,0 +1,55 @@
+package com.example.reactiveproductservice.config;
+
+import com.example.reactiveproductservice.repository.jdbc.JdbcExecutor;
+import com.example.reactiveproductservice.repository.jdbc.JdbcProductRepository;
+import com.example.reactiveproductservice.repository.jdbc.JdbcUserRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Alternative persistence backend: JDBC + HikariCP bridged into Mono/Flux
+ * 
+ * With persistence.backend=jdbc the @Primary JDBC repositories replace the R2DBC
+ * ProductRepository and UserRepository in ProductService, CustomUserDetailsService and
+ * AuthHandler. Refresh tokens, catalog statistics and replica routing stay on R2DBC.
+ */
+@Configuration
+@ConditionalOnProperty(name = "persistence.backend", havingValue = "jdbc")
+public class JdbcPersistenceConfig {
+    
+    @Bean(destroyMethod = "close")
+    public HikariDataSource jdbcDataSource(@Value("${persistence.jdbc.url}") String url,
+                                           @Value("${persistence.jdbc.username:}") String username,
+                                           @Value("${persistence.jdbc.password:}") String password,
+                                           @Value("${persistence.jdbc.pool.max-size:20}") int maxPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("product-jdbc");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxPoolSize);
+        return new HikariDataSource(config);
+    }
+    
+    @Bean
+    public JdbcExecutor jdbcExecutor(HikariDataSource jdbcDataSource) {
+        return new JdbcExecutor(jdbcDataSource, jdbcDataSource.getMaximumPoolSize());
+    }
+    
+    @Bean
+    @Primary
+    public JdbcProductRepository jdbcProductRepository(JdbcExecutor jdbcExecutor) {
+        return new JdbcProductRepository(jdbcExecutor);
+    }
+    
+    @Bean
+    @Primary
+    public JdbcUserRepository jdbcUserRepository(JdbcExecutor jdbcExecutor) {
+        return new JdbcUserRepository(jdbcExecutor);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.reactiveproductservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.LoopResources;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactor Netty server resources
+ *
+ * HTTP/2 itself is switched on with server.http2.enabled: cleartext h2c (prior knowledge or
+ * upgrade) without TLS, h2 via ALPN when server.ssl.* is configured; HTTP/1.1 stays available
+ * either way. This class sizes the event loops, caps open connections and concurrent HTTP/2
+ * streams per connection, and provides the scheduler for work that must not run on an event
+ * loop (BCrypt).
+ */
+@Configuration
+@Slf4j
+public class NettyConfig {
+
+    /**
+     * Dedicated event loops; without netty.event-loop-threads Reactor Netty's shared
+     * defaults (one per core) are used
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty("netty.event-loop-threads")
+    public LoopResources serverLoopResources(@Value("${netty.event-loop-threads}") int eventLoopThreads) {
+        log.info("HTTP server running on {} event loops", eventLoopThreads);
+        return LoopResources.create("http", 1, eventLoopThreads, true);
+    }
+
+    @Bean
+    public NettyServerCustomizer nettyServerCustomizer(ObjectProvider<LoopResources> serverLoopResources,
+                                                       @Value("${netty.max-connections:10000}") int maxConnections,
+                                                       @Value("${netty.http2.max-concurrent-streams:256}") long maxConcurrentStreams) {
+        AtomicInteger openConnections = new AtomicInteger();
+        LoopResources loopResources = serverLoopResources.getIfAvailable();
+        return httpServer -> {
+            if (loopResources != null) {
+                httpServer = httpServer.runOn(loopResources);
+            }
+            return httpServer
+                    .http2Settings(settings -> settings.maxConcurrentStreams(maxConcurrentStreams))
+                    // Called once per TCP connection (HTTP/2 streams share it)
+                    .doOnChannelInit((observer, channel, remoteAddress) -> {
+                        if (openConnections.incrementAndGet() > maxConnections) {
+                            openConnections.decrementAndGet();
+                            log.warn("Connection limit {} reached, closing connection from {}", maxConnections, remoteAddress);
+                            channel.close();
+                            return;
+                        }
+                        channel.closeFuture().addListener(future -> openConnections.decrementAndGet());
+                    });
+        };
+    }
+
+    /**
+     * Bounded pool for blocking or CPU-heavy work, so event loops only do I/O
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler workerScheduler(@Value("${worker.threads:0}") int threads,
+                                     @Value("${worker.queued-tasks:1000}") int queuedTasks) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newBoundedElastic(size, queuedTasks, "worker");
+    }
+}
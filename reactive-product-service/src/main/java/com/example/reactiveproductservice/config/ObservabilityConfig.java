@@ -0,0 +1,43 @@
+package com.example.reactiveproductservice.config;
+
+import com.example.reactiveproductservice.observability.ObservedConnectionFactory;
+import com.example.reactiveproductservice.observability.QueryMetricsListener;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing and query metrics wiring not covered by Spring Boot's auto-configuration
+ * 
+ * Boot traces HTTP requests and (with r2dbc-proxy) each R2DBC statement; the security filter
+ * and ProductService add their own spans. Here the application's ConnectionFactory is wrapped
+ * so pool acquisition shows up as a separate span, and in an r2dbc-proxy layer feeding
+ * QueryMetricsListener.
+ */
+@Configuration
+public class ObservabilityConfig {
+    
+    @Bean
+    static BeanPostProcessor observedConnectionFactoryPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                                    ObjectProvider<QueryMetricsListener> queryMetricsListener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof ObservedConnectionFactory)) {
+                    QueryMetricsListener listener = queryMetricsListener.getIfAvailable();
+                    if (listener != null) {
+                        connectionFactory = ProxyConnectionFactory.builder(connectionFactory).listener(listener).build();
+                    }
+                    // Outermost, so dispose/destroy still reach the pool
+                    return new ObservedConnectionFactory(connectionFactory,
+                            observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                }
+                return bean;
+            }
+        };
+    }
+}
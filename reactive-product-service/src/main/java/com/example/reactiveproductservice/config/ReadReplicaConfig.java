@@ -0,0 +1,71 @@
+package com.example.reactiveproductservice.config;
+
+import com.example.reactiveproductservice.datasource.RoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Primary + replica connection pools behind one routing ConnectionFactory
+ * 
+ * Only active when replica.r2dbc.url is set; otherwise Spring Boot's single pool from
+ * spring.r2dbc.* is used and read/write routing is a no-op.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica.r2dbc", name = "url")
+@Slf4j
+public class ReadReplicaConfig {
+    
+    private static final int INITIAL_SIZE = 10;
+    
+    @Bean
+    public RoutingConnectionFactory connectionFactory(R2dbcProperties primary,
+                                                      @Value("${replica.r2dbc.url}") String replicaUrl,
+                                                      @Value("${replica.r2dbc.username:}") String replicaUsername,
+                                                      @Value("${replica.r2dbc.password:}") String replicaPassword,
+                                                      @Value("${replica.r2dbc.pool.max-size:20}") int replicaMaxSize,
+                                                      ObjectProvider<ConnectionFactoryDecorator> decorators) {
+        log.info("Routing reads to replica {}", replicaUrl);
+        List<ConnectionFactoryDecorator> connectionDecorators = decorators.orderedStream().toList();
+        ConnectionPool primaryPool = pool(primary.getUrl(), primary.getUsername(), primary.getPassword(),
+                primary.getPool().getMaxSize(), connectionDecorators);
+        ConnectionPool replicaPool = pool(replicaUrl, replicaUsername, replicaPassword, replicaMaxSize,
+                connectionDecorators);
+        return new RoutingConnectionFactory(primaryPool, replicaPool);
+    }
+    
+    /**
+     * Decorators (e.g. Boot's R2DBC observation proxy) wrap the physical connections inside
+     * the pool, as for Boot's own pool
+     */
+    private static ConnectionPool pool(String url, String username, String password, int maxSize,
+                                       List<ConnectionFactoryDecorator> decorators) {
+        ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(url);
+        if (StringUtils.hasText(username)) {
+            builder.username(username);
+        }
+        if (StringUtils.hasText(password)) {
+            builder.password(password);
+        }
+        ConnectionFactory connectionFactory = builder.build();
+        for (ConnectionFactoryDecorator decorator : decorators) {
+            connectionFactory = decorator.decorate(connectionFactory);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(INITIAL_SIZE, maxSize))
+                .maxSize(maxSize)
+                .build());
+    }
+}
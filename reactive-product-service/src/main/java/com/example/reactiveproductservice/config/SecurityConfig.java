@@ -1,6 +1,13 @@
 package com.example.reactiveproductservice.config;
 
+import com.example.reactiveproductservice.ratelimit.ClientRequestLimiter;
+import com.example.reactiveproductservice.security.AccessRule;
+import com.example.reactiveproductservice.security.CustomUserDetailsService;
 import com.example.reactiveproductservice.security.JwtAuthenticationWebFilter;
+import com.example.reactiveproductservice.security.JwtUtil;
+import com.example.reactiveproductservice.security.RouteAuthorizationManager;
+import com.example.reactiveproductservice.security.RouteAuthorizationTable;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,11 +19,16 @@ import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
 
 /**
  * Reactive Security Configuration
  * 
  * Configures Spring Security for WebFlux (reactive) with JWT and role-based authorization
+ * 
+ * Authorization rules live in a precompiled RouteAuthorizationTable shared by the JWT
+ * filter and the authorization manager. Public endpoints bypass the security chain.
  */
 @Configuration
 @EnableWebFluxSecurity
@@ -24,34 +36,62 @@ import org.springframework.security.web.server.SecurityWebFilterChain;
 @RequiredArgsConstructor
 public class SecurityConfig {
     
-    private final JwtAuthenticationWebFilter jwtAuthenticationWebFilter;
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final ClientRequestLimiter clientLimiter;
+    private final ObservationRegistry observationRegistry;
+    
+    /**
+     * Authorization rules, compiled once into a method + path trie
+     */
+    @Bean
+    public RouteAuthorizationTable routeAuthorizationTable() {
+        return RouteAuthorizationTable.builder()
+                // Public endpoints - no authentication required
+                .route("/api/auth/**", AccessRule.permitAll())
+                .route(HttpMethod.GET, "/actuator/health/**", AccessRule.permitAll())
+                
+                // Product GET endpoints - authenticated users only
+                .route(HttpMethod.GET, "/api/products/**", AccessRule.authenticated())
+                
+                // Product POST - authenticated users only
+                .route(HttpMethod.POST, "/api/products", AccessRule.authenticated())
+                
+                // Product PUT, DELETE - ADMIN only
+                .route(HttpMethod.PUT, "/api/products/**", AccessRule.hasRole("ADMIN"))
+                .route(HttpMethod.DELETE, "/api/products/**", AccessRule.hasRole("ADMIN"))
+                
+                // Actuator (metrics, startup timeline) - ADMIN only, except health above
+                .route("/actuator/**", AccessRule.hasRole("ADMIN"))
+                
+                // All other endpoints require authentication
+                .anyExchange(AccessRule.authenticated())
+                .build();
+    }
     
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         RouteAuthorizationTable authorizationTable) {
         return http
+                // Public endpoints skip the whole chain - no security context is ever created
+                .securityMatcher(exchange -> authorizationTable.resolve(exchange).isPublic()
+                        ? MatchResult.notMatch()
+                        : MatchResult.match())
+                
                 // Disable CSRF for REST API
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 
+                // Stateless JWT - don't load or store the security context in a WebSession
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                
                 // Add JWT filter before authorization
-                .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtUtil, userDetailsService, authorizationTable,
+                                clientLimiter, observationRegistry),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
                 
-                // Configure authorization rules
+                // Configure authorization rules (single lookup in the precompiled table)
                 .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints - no authentication required
-                        .pathMatchers("/api/auth/**").permitAll()
-                        
-                        // Product GET endpoints - authenticated users only
-                        .pathMatchers(HttpMethod.GET, "/api/products/**").authenticated()
-                        
-                        // Product POST - authenticated users only
-                        .pathMatchers(HttpMethod.POST, "/api/products").authenticated()
-                        
-                        // Product PUT, DELETE - ADMIN only
-                        .pathMatchers(HttpMethod.PUT, "/api/products/**").hasRole("ADMIN")
-                        .pathMatchers(HttpMethod.DELETE, "/api/products/**").hasRole("ADMIN")
-                        
-                        // All other endpoints require authentication
-                        .anyExchange().authenticated()
+                        .anyExchange().access(new RouteAuthorizationManager(authorizationTable))
                 )
                 
                 // Disable form login (we use JWT)
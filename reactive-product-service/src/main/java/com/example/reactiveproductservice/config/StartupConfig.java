@@ -0,0 +1,79 @@
+package com.example.reactiveproductservice.config;
+
+import com.example.reactiveproductservice.catalog.CatalogStatistics;
+import com.example.reactiveproductservice.catalog.ColumnarCatalog;
+import com.example.reactiveproductservice.security.JwtKeyStore;
+import com.example.reactiveproductservice.security.RefreshTokenService;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.server.WebFilter;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.StringJoiner;
+
+/**
+ * Startup tuning for fast scale-out (see the fast-startup Maven profile)
+ * 
+ * With spring.main.lazy-initialization=true only the beans needed to accept the first
+ * request - security chain, web filters, routes, connection factory - and the beans running
+ * scheduled work are created eagerly; the rest on first use.
+ * Started with -Dstartup.timeline=true, the slowest startup steps are logged once ready and
+ * the full timeline is served at /actuator/startup.
+ * An AOT build started with conditional properties other than the ones it was processed with
+ * fails before any bean is created (see AotBuildConditions).
+ */
+@Configuration
+@Slf4j
+public class StartupConfig {
+    
+    @Value("${startup.timeline.top:15}")
+    private int topSteps;
+    
+    @Bean
+    static BeanFactoryPostProcessor aotBuildConditionsCheck(Environment environment) {
+        return beanFactory -> AotBuildConditions.verify(environment, beanFactory.getBeanClassLoader());
+    }
+    
+    @Bean
+    static LazyInitializationExcludeFilter criticalBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SecurityWebFilterChain.class, WebFilter.class, RouterFunction.class, ConnectionFactory.class,
+                ColumnarCatalog.class, CatalogStatistics.class, JwtKeyStore.class, RefreshTokenService.class);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportStartup(ApplicationReadyEvent event) {
+        Duration timeTaken = event.getTimeTaken();
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        log.info("Ready in {} ms; slowest startup steps (nested steps include their children):",
+                timeTaken != null ? timeTaken.toMillis() : -1);
+        buffering.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(topSteps)
+                .forEach(step -> log.info("  {} ms  {}", step.getDuration().toMillis(), describe(step.getStartupStep())));
+    }
+    
+    private static String describe(StartupStep step) {
+        StringJoiner tags = new StringJoiner(", ", " [", "]").setEmptyValue("");
+        step.getTags().forEach(tag -> tags.add(tag.getKey() + "=" + tag.getValue()));
+        return step.getName() + tags;
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.reactiveproductservice.controller;
 
+import com.example.reactiveproductservice.dto.BatchGetRequest;
+import com.example.reactiveproductservice.dto.BatchGetResponse;
+import com.example.reactiveproductservice.dto.ProductFields;
 import com.example.reactiveproductservice.dto.ProductRequest;
+import com.example.reactiveproductservice.dto.ProductStatsResponse;
+import com.example.reactiveproductservice.exception.NotFoundException;
 import com.example.reactiveproductservice.model.Product;
 import com.example.reactiveproductservice.service.ProductService;
 import jakarta.validation.Valid;
@@ -12,6 +17,9 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
@@ -23,10 +31,52 @@ public class ProductController {
     /**
      * GET /api/products - Get all products
      * Returns: Flux<Product> (stream of products)
+     * 
+     * All read endpoints accept ?fields=id,name,price,quantity to select (and only read) some columns
      */
     @GetMapping
-    public Flux<Product> getAllProducts() {
-        return productService.getAllProducts();
+    public Flux<?> getAllProducts(@RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        if (productFields.isAll()) {
+            return productService.getAllProducts();
+        }
+        return productService.getAllProducts(productFields).map(productFields::project);
+    }
+    
+    /**
+     * GET /api/products?ids=1,2,3 - Get several products in one call
+     * Returns products in request order plus the ids that were not found
+     */
+    @GetMapping(params = "ids")
+    public Mono<?> getProductsByIds(@RequestParam List<Long> ids,
+                                    @RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        if (productFields.isAll()) {
+            return productService.getProductsByIds(ids);
+        }
+        return productService.getProductsByIds(ids, productFields)
+                .map(response -> projectBatch(response, productFields));
+    }
+    
+    /**
+     * POST /api/products/batch-get - Same as above, for id lists too long for a query string
+     */
+    @PostMapping("/batch-get")
+    public Mono<?> batchGetProducts(@Valid @RequestBody BatchGetRequest request,
+                                    @RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        if (productFields.isAll()) {
+            return productService.getProductsByIds(request.getIds());
+        }
+        return productService.getProductsByIds(request.getIds(), productFields)
+                .map(response -> projectBatch(response, productFields));
+    }
+    
+    private Map<String, Object> projectBatch(BatchGetResponse response, ProductFields fields) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("products", response.getProducts().stream().map(fields::project).toList());
+        body.put("missingIds", response.getMissingIds());
+        return body;
     }
     
     /**
@@ -35,7 +85,10 @@ public class ProductController {
      */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<Product> streamAllProducts() {
+        // The buffer lets the database read (and its concurrency permit) finish at database speed;
+        // only delivery to the client is paced
         return productService.getAllProducts()
+                .onBackpressureBuffer()
                 .delayElements(java.time.Duration.ofSeconds(1)); // Delay to show streaming
     }
     
@@ -44,9 +97,13 @@ public class ProductController {
      * Returns: Mono<Product> (0 or 1 product)
      */
     @GetMapping("/{id}")
-    public Mono<Product> getProductById(@PathVariable Long id) {
-        return productService.getProductById(id)
-                .switchIfEmpty(Mono.error(new RuntimeException("Product not found")));
+    public Mono<?> getProductById(@PathVariable Long id,
+                                  @RequestParam(required = false) String fields) {
+        // Single row: keep the batched full-row lookup and only trim the response
+        ProductFields productFields = ProductFields.parse(fields);
+        Mono<Product> product = productService.getProductById(id)
+                .switchIfEmpty(Mono.error(NotFoundException.PRODUCT));
+        return productFields.isAll() ? product : product.map(productFields::project);
     }
     
     /**
@@ -81,24 +138,49 @@ public class ProductController {
      * GET /api/products/search?name=laptop - Search products by name
      */
     @GetMapping("/search")
-    public Flux<Product> searchProducts(@RequestParam String name) {
-        return productService.searchProductsByName(name);
+    public Flux<?> searchProducts(@RequestParam String name,
+                                  @RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        if (productFields.isAll()) {
+            return productService.searchProductsByName(name);
+        }
+        return productService.searchProductsByName(name, productFields).map(productFields::project);
     }
     
     /**
      * GET /api/products/under-price?price=100 - Get products under certain price
      */
     @GetMapping("/under-price")
-    public Flux<Product> getProductsUnderPrice(@RequestParam BigDecimal price) {
-        return productService.getProductsUnderPrice(price);
+    public Flux<?> getProductsUnderPrice(@RequestParam BigDecimal price,
+                                         @RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        if (productFields.isAll()) {
+            return productService.getProductsUnderPrice(price);
+        }
+        return productService.getProductsUnderPrice(price, productFields).map(productFields::project);
+    }
+    
+    /**
+     * GET /api/products/stats - Count, total stock, inventory value and price histogram
+     */
+    @GetMapping("/stats")
+    public Mono<ProductStatsResponse> getStats() {
+        return productService.getStats();
     }
     
     /**
-     * Exception Handler
+     * GET /api/products/price-range?min=10&max=100&order=desc&limit=20
+     * Sorted price range / top-N (both bounds optional and inclusive)
      */
-    @ExceptionHandler(RuntimeException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public Mono<String> handleNotFound(RuntimeException ex) {
-        return Mono.just(ex.getMessage());
+    @GetMapping("/price-range")
+    public Flux<?> getProductsByPriceRange(@RequestParam(required = false) BigDecimal min,
+                                           @RequestParam(required = false) BigDecimal max,
+                                           @RequestParam(defaultValue = "asc") String order,
+                                           @RequestParam(defaultValue = "20") int limit,
+                                           @RequestParam(required = false) String fields) {
+        ProductFields productFields = ProductFields.parse(fields);
+        Flux<Product> products = productService.getProductsByPriceRange(
+                min, max, "desc".equalsIgnoreCase(order), limit);
+        return productFields.isAll() ? products : products.map(productFields::project);
     }
 }
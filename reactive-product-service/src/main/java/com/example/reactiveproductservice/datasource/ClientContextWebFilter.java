@@ -0,0 +1,28 @@
+package com.example.reactiveproductservice.datasource;
+
+import com.example.reactiveproductservice.ratelimit.ClientKeyResolver;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Puts the client key (JWT subject or remote IP) into the Reactor context so
+ * ReadWriteRouting can apply read-your-writes stickiness per client
+ */
+@Component
+@Order(ClientContextWebFilter.ORDER)
+public class ClientContextWebFilter implements WebFilter {
+    
+    // After Spring Security (-100) so the authenticated subject is known
+    public static final int ORDER = 1;
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return ClientKeyResolver.resolve(exchange)
+                .flatMap(clientKey -> chain.filter(exchange)
+                        .contextWrite(context -> context.put(ReadWriteRouting.CLIENT_KEY, clientKey)));
+    }
+}
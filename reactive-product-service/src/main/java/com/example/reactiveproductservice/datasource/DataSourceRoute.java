@@ -0,0 +1,9 @@
+package com.example.reactiveproductservice.datasource;
+
+/**
+ * Which connection pool a query runs on
+ */
+public enum DataSourceRoute {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,93 @@
+package com.example.reactiveproductservice.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Marks reactive queries as reads (replica) or writes (primary) via the Reactor context
+ *
+ * Read-your-writes: a write records the client (from ClientContextWebFilter) and that
+ * client's reads stay on the primary for the sticky window, so it never sees replica lag
+ * on its own changes. Without a configured replica both routes use the same pool.
+ */
+@Component
+public class ReadWriteRouting {
+
+    public static final String ROUTE_KEY = ReadWriteRouting.class.getName() + ".ROUTE";
+    public static final String CLIENT_KEY = ReadWriteRouting.class.getName() + ".CLIENT";
+
+    // Expired entries are swept once this many clients are tracked
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long stickyNanos;
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadWriteRouting(@Value("${replica.read-your-writes-window:PT5S}") Duration stickyWindow) {
+        this.stickyNanos = stickyWindow.toNanos();
+    }
+
+    /**
+     * Run on the replica, unless the calling client wrote recently
+     */
+    public <T> Flux<T> read(Flux<T> query) {
+        return query.contextWrite(this::routeRead);
+    }
+
+    public <T> Mono<T> read(Mono<T> query) {
+        return query.contextWrite(this::routeRead);
+    }
+
+    /**
+     * Run on the primary and make the calling client sticky (window counted from completion)
+     */
+    public <T> Mono<T> write(Mono<T> command) {
+        return Mono.deferContextual(context -> {
+                    String client = context.getOrDefault(CLIENT_KEY, null);
+                    recordWrite(client);
+                    return command.doFinally(signal -> recordWrite(client));
+                })
+                .contextWrite(context -> context.put(ROUTE_KEY, DataSourceRoute.PRIMARY));
+    }
+
+    /**
+     * Whether reads for the client in this context must stay on the primary
+     */
+    public boolean isSticky(ContextView context) {
+        String client = context.getOrDefault(CLIENT_KEY, null);
+        if (client == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteNanos.get(client);
+        return lastWrite != null && System.nanoTime() - lastWrite < stickyNanos;
+    }
+
+    /**
+     * Unconditionally on the replica - for work already detached from the request
+     * (e.g. micro-batches shared by several clients)
+     */
+    public static <T> Flux<T> onReplica(Flux<T> query) {
+        return query.contextWrite(context -> context.put(ROUTE_KEY, DataSourceRoute.REPLICA));
+    }
+
+    private Context routeRead(Context context) {
+        return context.put(ROUTE_KEY, isSticky(context) ? DataSourceRoute.PRIMARY : DataSourceRoute.REPLICA);
+    }
+
+    private void recordWrite(String client) {
+        if (client == null || stickyNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        lastWriteNanos.put(client, now);
+        if (lastWriteNanos.size() > SWEEP_THRESHOLD) {
+            lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= stickyNanos);
+        }
+    }
+}
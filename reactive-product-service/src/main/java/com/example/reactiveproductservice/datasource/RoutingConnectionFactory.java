@@ -0,0 +1,42 @@
+package com.example.reactiveproductservice.datasource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the primary or replica pool from the route in the Reactor context
+ * (see ReadWriteRouting); anything not marked as a read runs on the primary
+ */
+public class RoutingConnectionFactory extends AbstractRoutingConnectionFactory implements DisposableBean {
+    
+    private final List<ConnectionFactory> targets;
+    
+    public RoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica) {
+        setTargetConnectionFactories(Map.of(
+                DataSourceRoute.PRIMARY, primary,
+                DataSourceRoute.REPLICA, replica));
+        setDefaultTargetConnectionFactory(primary);
+        this.targets = List.of(primary, replica);
+    }
+    
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context ->
+                Mono.<Object>just(context.getOrDefault(ReadWriteRouting.ROUTE_KEY, DataSourceRoute.PRIMARY)));
+    }
+    
+    @Override
+    public void destroy() {
+        for (ConnectionFactory target : targets) {
+            if (target instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+}
@@ -14,4 +14,10 @@ public class AuthResponse {
     private String username;
     
     private String message;
+    
+    private String refreshToken;
+    
+    public AuthResponse(String token, String username, String message) {
+        this(token, username, message, null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.reactiveproductservice.dto;
+
+import com.example.reactiveproductservice.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchGetResponse {
+    
+    private List<Product> products;  // In request order
+    
+    private List<Long> missingIds;
+}
@@ -0,0 +1,119 @@
+package com.example.reactiveproductservice.dto;
+
+import com.example.reactiveproductservice.model.Product;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sparse fieldset for product responses (?fields=id,name,price)
+ * 
+ * Drives both the SQL projection (only the selected columns are read) and the
+ * serialized shape (only the selected fields are written).
+ */
+public final class ProductFields {
+    
+    public enum Field {
+        ID("id", "id", Product::getId),
+        NAME("name", "name", Product::getName),
+        DESCRIPTION("description", "description", Product::getDescription),
+        PRICE("price", "price", Product::getPrice),
+        QUANTITY("quantity", "quantity", Product::getQuantity),
+        CREATED_AT("createdAt", "created_at", Product::getCreatedAt),
+        UPDATED_AT("updatedAt", "updated_at", Product::getUpdatedAt);
+        
+        private final String jsonName;
+        private final String column;
+        private final Function<Product, Object> getter;
+        
+        Field(String jsonName, String column, Function<Product, Object> getter) {
+            this.jsonName = jsonName;
+            this.column = column;
+            this.getter = getter;
+        }
+        
+        public String getColumn() {
+            return column;
+        }
+    }
+    
+    private static final ProductFields ALL = new ProductFields(EnumSet.allOf(Field.class));
+    
+    private final EnumSet<Field> fields;
+    private final List<String> columns;
+    
+    private ProductFields(EnumSet<Field> fields) {
+        this.fields = fields;
+        this.columns = fields.stream().map(Field::getColumn).toList();
+    }
+    
+    public static ProductFields all() {
+        return ALL;
+    }
+    
+    /**
+     * Parse a comma-separated field list; null or blank means all fields
+     */
+    public static ProductFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(find(trimmed));
+        }
+        return selected.isEmpty() || selected.size() == Field.values().length ? ALL : new ProductFields(selected);
+    }
+    
+    private static Field find(String name) {
+        for (Field field : Field.values()) {
+            if (field.jsonName.equalsIgnoreCase(name) || field.column.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown product field: " + name);
+    }
+    
+    /**
+     * Same selection plus the id column (needed to match rows, e.g. for batch gets)
+     */
+    public ProductFields withId() {
+        if (fields.contains(Field.ID)) {
+            return this;
+        }
+        EnumSet<Field> withId = EnumSet.copyOf(fields);
+        withId.add(Field.ID);
+        return withId.size() == Field.values().length ? ALL : new ProductFields(withId);
+    }
+    
+    public boolean isAll() {
+        return this == ALL;
+    }
+    
+    /**
+     * Column names to SELECT
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+    
+    /**
+     * Only the selected fields, in declaration order
+     */
+    public Map<String, Object> project(Product product) {
+        Map<String, Object> projected = new LinkedHashMap<>();
+        for (Field field : fields) {
+            projected.put(field.jsonName, field.getter.apply(product));
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.reactiveproductservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStatsResponse {
+    
+    private long productCount;
+    
+    private long totalStock;
+    
+    private BigDecimal totalInventoryValue;  // Sum of price * quantity
+    
+    private List<PriceBucket> priceBuckets;
+    
+    private LocalDateTime reconciledAt;  // Last check against the database (null = not yet)
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        
+        private BigDecimal minPrice;  // Inclusive
+        
+        private BigDecimal maxPrice;  // Exclusive, null for the last bucket
+        
+        private long count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.reactiveproductservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base for expected request failures that map to a fixed HTTP status
+ * 
+ * These are control flow, not bugs: no stack trace is captured and suppression is
+ * disabled, so an instance is cheap to create and safe to share (see NotFoundException.PRODUCT).
+ * ApiExceptionHandler renders them as RFC 7807 problem details.
+ */
+public abstract class ApiException extends RuntimeException {
+    
+    private final HttpStatus status;
+    
+    protected ApiException(HttpStatus status, String detail) {
+        super(detail, null, false, false);
+        this.status = status;
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.reactiveproductservice.exception;
+
+import com.example.reactiveproductservice.ratelimit.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+
+/**
+ * Maps controller errors to RFC 7807 problem details (application/problem+json)
+ *
+ * Only failures that carry a status (ApiException, ResponseStatusException) or have a known
+ * meaning are mapped to 4xx/503; anything else - including database errors - is a 500.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ApiExceptionHandler {
+    
+    @ExceptionHandler(ApiException.class)
+    public ResponseEntity<ProblemDetail> handleApiException(ApiException ex, ServerWebExchange exchange) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus());
+        if (ex instanceof ServiceOverloadedException overloaded) {
+            // Load shedding - tell clients when to come back
+            response.header(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, overloaded.getRetryAfter().toSeconds())));
+        }
+        return response.body(problem(ex.getStatus(), ex.getMessage(), exchange));
+    }
+    
+    /**
+     * Errors that already carry their HTTP status (validation, bad parameters, ...)
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ProblemDetail> handleResponseStatus(ResponseStatusException ex, ServerWebExchange exchange) {
+        ProblemDetail problem = ex.getBody();
+        problem.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(problem);
+    }
+    
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException ex,
+                                                                      ServerWebExchange exchange) {
+        log.warn("Constraint violation on {}: {}", exchange.getRequest().getPath(), ex.getMessage());
+        return handleApiException(new ConflictException("Request conflicts with existing data"), exchange);
+    }
+    
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ProblemDetail> handleUnexpected(Exception ex, ServerWebExchange exchange) {
+        log.error("Unhandled error on {} {}", exchange.getRequest().getMethod(), exchange.getRequest().getPath(), ex);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(problem(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", exchange));
+    }
+    
+    private static ProblemDetail problem(HttpStatus status, String detail, ServerWebExchange exchange) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setInstance(URI.create(exchange.getRequest().getPath().value()));
+        return problem;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.reactiveproductservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 409 Conflict - the request clashes with the current state (e.g. a unique constraint)
+ */
+public class ConflictException extends ApiException {
+    
+    public ConflictException(String detail) {
+        super(HttpStatus.CONFLICT, detail);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.reactiveproductservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 404 Not Found
+ * 
+ * Misses on product ids are common (scrapers probing random ids), so they share one
+ * preallocated instance; the problem response's "instance" carries the requested path.
+ */
+public class NotFoundException extends ApiException {
+    
+    public static final NotFoundException PRODUCT = new NotFoundException("Product not found");
+    
+    public NotFoundException(String detail) {
+        super(HttpStatus.NOT_FOUND, detail);
+    }
+}
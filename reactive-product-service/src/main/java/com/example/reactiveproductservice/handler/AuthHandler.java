@@ -1,13 +1,21 @@
 package com.example.reactiveproductservice.handler;
 
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
 import com.example.reactiveproductservice.dto.AuthRequest;
 import com.example.reactiveproductservice.dto.AuthResponse;
+import com.example.reactiveproductservice.dto.RefreshTokenRequest;
 import com.example.reactiveproductservice.dto.RegisterRequest;
 import com.example.reactiveproductservice.model.User;
+import com.example.reactiveproductservice.ratelimit.ClientKeyResolver;
+import com.example.reactiveproductservice.ratelimit.LoginAttemptThrottle;
+import com.example.reactiveproductservice.ratelimit.RateLimitWebFilter;
 import com.example.reactiveproductservice.repository.UserRepository;
+import com.example.reactiveproductservice.security.JwtKeyStore;
 import com.example.reactiveproductservice.security.JwtUtil;
+import com.example.reactiveproductservice.security.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,8 +23,10 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Functional handler for authentication endpoints
@@ -30,6 +40,11 @@ public class AuthHandler {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final JwtKeyStore jwtKeyStore;
+    private final RefreshTokenService refreshTokenService;
+    private final ReadWriteRouting routing;
+    private final Scheduler workerScheduler;
     
     /**
      * POST /api/auth/register
@@ -58,17 +73,21 @@ public class AuthHandler {
                                                         .bodyValue(new AuthResponse(null, null, "Email already exists"));
                                             }
                                             
-                                            // Create new user
-                                            User user = new User();
-                                            user.setUsername(registerRequest.getUsername());
-                                            user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-                                            user.setEmail(registerRequest.getEmail());
-                                            user.setRoles("ROLE_USER");
-                                            user.setEnabled(true);
-                                            user.setCreatedAt(LocalDateTime.now());
-                                            user.setUpdatedAt(LocalDateTime.now());
-                                            
-                                            return userRepository.save(user)
+                                            // Create new user (BCrypt runs off the event loop)
+                                            return Mono.fromCallable(() -> passwordEncoder.encode(registerRequest.getPassword()))
+                                                    .subscribeOn(workerScheduler)
+                                                    .flatMap(passwordHash -> {
+                                                        User user = new User();
+                                                        user.setUsername(registerRequest.getUsername());
+                                                        user.setPassword(passwordHash);
+                                                        user.setEmail(registerRequest.getEmail());
+                                                        user.setRoles("ROLE_USER");
+                                                        user.setEnabled(true);
+                                                        user.setCreatedAt(LocalDateTime.now());
+                                                        user.setUpdatedAt(LocalDateTime.now());
+                                                        
+                                                        return routing.write(userRepository.save(user));
+                                                    })
                                                     .flatMap(savedUser -> {
                                                         log.info("User registered successfully: {}", savedUser.getUsername());
                                                         return ServerResponse.status(HttpStatus.CREATED)
@@ -99,7 +118,19 @@ public class AuthHandler {
                 .flatMap(authRequest -> {
                     log.info("Login attempt for username: {}", authRequest.getUsername());
                     
-                    return userRepository.findByUsername(authRequest.getUsername())
+                    // Brute-force throttling per username and per IP - checked before BCrypt runs
+                    String remoteAddress = ClientKeyResolver.remoteAddress(request.exchange().getRequest());
+                    long waitNanos = loginAttemptThrottle.tryAttempt(authRequest.getUsername(), remoteAddress);
+                    if (waitNanos > 0) {
+                        log.warn("Too many login attempts for username: {}", authRequest.getUsername());
+                        return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER,
+                                        String.valueOf(RateLimitWebFilter.retryAfterSeconds(waitNanos)))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(new AuthResponse(null, null, "Too many login attempts"));
+                    }
+                    
+                    return routing.read(userRepository.findByUsername(authRequest.getUsername()))
                             .flatMap(user -> {
                                 // Check if user is enabled
                                 if (!user.getEnabled()) {
@@ -108,26 +139,10 @@ public class AuthHandler {
                                             .bodyValue(new AuthResponse(null, null, "Account is disabled"));
                                 }
                                 
-                                // Verify password
-                                if (passwordEncoder.matches(authRequest.getPassword(), user.getPassword())) {
-                                    // Generate JWT token
-                                    String token = jwtUtil.generateToken(user.getUsername());
-                                    
-                                    log.info("Login successful for user: {}", user.getUsername());
-                                    
-                                    return ServerResponse.ok()
-                                            .contentType(MediaType.APPLICATION_JSON)
-                                            .bodyValue(new AuthResponse(
-                                                    token,
-                                                    user.getUsername(),
-                                                    "Login successful"
-                                            ));
-                                } else {
-                                    log.warn("Invalid password for user: {}", user.getUsername());
-                                    return ServerResponse.status(HttpStatus.UNAUTHORIZED)
-                                            .contentType(MediaType.APPLICATION_JSON)
-                                            .bodyValue(new AuthResponse(null, null, "Invalid credentials"));
-                                }
+                                // Verify password (BCrypt runs off the event loop)
+                                return Mono.fromCallable(() -> passwordEncoder.matches(authRequest.getPassword(), user.getPassword()))
+                                        .subscribeOn(workerScheduler)
+                                        .flatMap(matches -> matches ? loginSucceeded(user) : loginFailed(user));
                             })
                             .switchIfEmpty(
                                     ServerResponse.status(HttpStatus.UNAUTHORIZED)
@@ -143,6 +158,83 @@ public class AuthHandler {
                 });
     }
     
+    private Mono<ServerResponse> loginSucceeded(User user) {
+        // Generate JWT token
+        String token = jwtUtil.generateToken(user.getUsername());
+        
+        loginAttemptThrottle.onSuccess(user.getUsername());
+        log.info("Login successful for user: {}", user.getUsername());
+        
+        // Long-lived refresh token - later access tokens are issued without BCrypt
+        return refreshTokenService.issue(user.getUsername())
+                .flatMap(refreshToken -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new AuthResponse(
+                                token,
+                                user.getUsername(),
+                                "Login successful",
+                                refreshToken
+                        )));
+    }
+    
+    private Mono<ServerResponse> loginFailed(User user) {
+        log.warn("Invalid password for user: {}", user.getUsername());
+        return ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new AuthResponse(null, null, "Invalid credentials"));
+    }
+    
+    /**
+     * POST /api/auth/refresh
+     * Exchange a refresh token for a new access token (the refresh token is rotated)
+     */
+    public Mono<ServerResponse> refresh(ServerRequest request) {
+        return request.bodyToMono(RefreshTokenRequest.class)
+                .flatMap(refreshRequest -> refreshTokenService.rotate(refreshRequest.getRefreshToken()))
+                .flatMap(rotated -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new AuthResponse(
+                                jwtUtil.generateToken(rotated.username()),
+                                rotated.username(),
+                                "Token refreshed",
+                                rotated.refreshToken()
+                        )))
+                .switchIfEmpty(
+                        ServerResponse.status(HttpStatus.UNAUTHORIZED)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(new AuthResponse(null, null, "Invalid refresh token"))
+                )
+                .onErrorResume(e -> {
+                    log.error("Token refresh error", e);
+                    return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new AuthResponse(null, null, "Token refresh failed: " + e.getMessage()));
+                });
+    }
+    
+    /**
+     * POST /api/auth/logout
+     * Revoke a refresh token
+     */
+    public Mono<ServerResponse> logout(ServerRequest request) {
+        return request.bodyToMono(RefreshTokenRequest.class)
+                .flatMap(logoutRequest -> refreshTokenService.revoke(logoutRequest.getRefreshToken()))
+                .flatMap(result -> switch (result) {
+                    case REVOKED -> ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new AuthResponse(null, null, "Logged out"));
+                    case ALREADY_REVOKED -> ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new AuthResponse(null, null, "Refresh token already revoked"));
+                    case INVALID -> ServerResponse.badRequest()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new AuthResponse(null, null, "Invalid refresh token"));
+                })
+                .switchIfEmpty(ServerResponse.badRequest()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new AuthResponse(null, null, "Refresh token is required")));
+    }
+    
     /**
      * GET /api/auth/me
      * Get current user info (requires authentication)
@@ -154,4 +246,14 @@ public class AuthHandler {
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(new AuthResponse(null, "current-user", "Token is valid"));
     }
+    
+    /**
+     * GET /api/auth/jwks
+     * Public verification keys (JWKS) so other services can verify tokens locally
+     */
+    public Mono<ServerResponse> jwks(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("keys", jwtKeyStore.getPublicJwks()));
+    }
 }
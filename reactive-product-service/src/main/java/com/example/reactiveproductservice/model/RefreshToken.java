@@ -0,0 +1,29 @@
+package com.example.reactiveproductservice.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("refresh_tokens")
+public class RefreshToken {
+    
+    @Id
+    private Long id;
+    
+    private String tokenHash;  // SHA-256 of the token - the token itself is never stored
+    
+    private String username;
+    
+    private LocalDateTime expiresAt;
+    
+    private Boolean revoked;
+    
+    private LocalDateTime createdAt;
+}
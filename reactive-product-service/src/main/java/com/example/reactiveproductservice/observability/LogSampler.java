@@ -0,0 +1,28 @@
+package com.example.reactiveproductservice.observability;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most a fixed number of log lines through per second, so a database slowdown
+ * cannot flood the log; metrics still count every event
+ */
+class LogSampler {
+
+    private final int perSecond;
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger logged = new AtomicInteger();
+
+    LogSampler(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    boolean tryAcquire() {
+        long second = System.nanoTime() / 1_000_000_000L;
+        long previous = currentSecond.get();
+        if (second != previous && currentSecond.compareAndSet(previous, second)) {
+            logged.set(0);
+        }
+        return logged.incrementAndGet() <= perSecond;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.reactiveproductservice.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times connection acquisition from the pool as its own span ("r2dbc.pool.acquire")
+ * 
+ * Statement spans come from the r2dbc-proxy listener Spring Boot installs inside the pool;
+ * this wrapper sits outside it, so the span shows time spent waiting for a free connection.
+ */
+public class ObservedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, DisposableBean {
+    
+    private final ConnectionFactory delegate;
+    private final ObservationRegistry observationRegistry;
+    
+    public ObservedConnectionFactory(ConnectionFactory delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+    
+    @Override
+    public Mono<Connection> create() {
+        return Mono.<Connection>from(delegate.create())
+                .name("r2dbc.pool.acquire")
+                .tap(Micrometer.observation(observationRegistry));
+    }
+    
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+    
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+    
+    /**
+     * Target of the pool bean's destroyMethod
+     */
+    public void dispose() {
+        if (lifecycleTarget() instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+    
+    @Override
+    public void destroy() throws Exception {
+        if (lifecycleTarget() instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        } else {
+            dispose();
+        }
+    }
+    
+    /**
+     * The pool (or routing factory) below any r2dbc-proxy layer
+     */
+    private Object lifecycleTarget() {
+        Object target = delegate;
+        while (!(target instanceof Disposable) && !(target instanceof DisposableBean)
+                && target instanceof Wrapped<?> wrapped) {
+            target = wrapped.unwrap();
+        }
+        return target;
+    }
+}
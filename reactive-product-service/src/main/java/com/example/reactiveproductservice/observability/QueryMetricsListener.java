@@ -0,0 +1,101 @@
+package com.example.reactiveproductservice.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.proxy.core.QueryExecutionInfo;
+import io.r2dbc.proxy.core.QueryInfo;
+import io.r2dbc.proxy.listener.ProxyExecutionListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-statement metrics from r2dbc-proxy, replacing per-statement debug logging
+ *
+ * For every statement template: a latency histogram (db.statement) and rows returned
+ * (db.statement.rows). Statements slower than the threshold are logged, sampled to a few
+ * lines per second, and each statement is added to the RequestQueryStats of the HTTP request
+ * that issued it. Templates beyond r2dbc.instrumentation.max-templates are tagged "other" so
+ * unexpected dynamic SQL cannot blow up meter cardinality.
+ *
+ * Not named r2dbc.query: Boot's r2dbc-proxy observation already publishes a timer under that
+ * name with other tag keys, which Prometheus-style registries would reject.
+ */
+@Component
+@Slf4j
+public class QueryMetricsListener implements ProxyExecutionListener {
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowQueryThreshold;
+    private final int maxTemplates;
+    private final LogSampler slowQueryLog;
+
+    // Raw SQL -> template, so normalization runs once per distinct statement
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(MeterRegistry meterRegistry,
+                                @Value("${r2dbc.instrumentation.slow-query-threshold:PT0.2S}") Duration slowQueryThreshold,
+                                @Value("${r2dbc.instrumentation.slow-query-log-per-second:5}") int slowQueryLogPerSecond,
+                                @Value("${r2dbc.instrumentation.max-templates:500}") int maxTemplates) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.maxTemplates = maxTemplates;
+        this.slowQueryLog = new LogSampler(slowQueryLogPerSecond);
+    }
+
+    /**
+     * Called once the statement's results have been consumed (or it failed)
+     */
+    @Override
+    public void afterQuery(QueryExecutionInfo execution) {
+        String template = template(execution.getQueries().stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; ")));
+        Duration elapsed = execution.getExecuteDuration();
+        int rows = execution.getCurrentResultCount();
+
+        Timer.builder("db.statement")
+                .tag("query", template)
+                .tag("outcome", execution.isSuccess() ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed);
+        DistributionSummary.builder("db.statement.rows")
+                .tag("query", template)
+                .register(meterRegistry)
+                .record(rows);
+
+        // r2dbc-proxy exposes the subscriber's Reactor context through the value store
+        ContextView context = execution.getValueStore().get(ContextView.class, ContextView.class);
+        RequestQueryStats stats = context != null ? RequestQueryStats.from(context) : null;
+        if (stats != null) {
+            stats.record(template, elapsed.toNanos());
+        }
+
+        if (elapsed.compareTo(slowQueryThreshold) >= 0 && slowQueryLog.tryAcquire()) {
+            log.warn("Slow query ({} ms, {} rows{}{}): {}", elapsed.toMillis(), rows,
+                    execution.isSuccess() ? "" : ", failed",
+                    stats != null ? ", " + stats.getRequest() : "", template);
+        }
+    }
+
+    String template(String sql) {
+        String template = templates.get(sql);
+        if (template != null) {
+            return template;
+        }
+        if (templates.size() >= maxTemplates) {
+            return OTHER;
+        }
+        return templates.computeIfAbsent(sql, StatementTemplates::template);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.reactiveproductservice.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * Database cost per endpoint: round trips (db.request.round.trips) and time spent in
+ * statements (db.request.time) per request, tagged by route pattern
+ *
+ * Requests matching an N+1 pattern are counted (db.request.n.plus.one) and logged, sampled
+ * like the slow-query log.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryStatsWebFilter implements WebFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+    private final LogSampler nPlusOneLog;
+
+    public QueryStatsWebFilter(MeterRegistry meterRegistry,
+                               @Value("${r2dbc.instrumentation.n-plus-one.repeat-threshold:3}") int repeatThreshold,
+                               @Value("${r2dbc.instrumentation.slow-query-log-per-second:5}") int logPerSecond) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+        this.nPlusOneLog = new LogSampler(logPerSecond);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestQueryStats stats = new RequestQueryStats(
+                exchange.getRequest().getMethod() + " " + exchange.getRequest().getPath().value());
+        return chain.filter(exchange)
+                .doFinally(signal -> report(exchange, stats))
+                .contextWrite(context -> context.put(RequestQueryStats.CONTEXT_KEY, stats));
+    }
+
+    private void report(ServerWebExchange exchange, RequestQueryStats stats) {
+        String method = exchange.getRequest().getMethod().name();
+        String uri = route(exchange);
+
+        DistributionSummary.builder("db.request.round.trips")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRoundTrips());
+        if (stats.getRoundTrips() == 0) {
+            return;
+        }
+        Timer.builder("db.request.time")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getDatabaseTime());
+
+        String nPlusOne = stats.suspectedNPlusOne(repeatThreshold);
+        if (nPlusOne != null) {
+            Counter.builder("db.request.n.plus.one")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            if (nPlusOneLog.tryAcquire()) {
+                log.warn("Possible N+1 on {} {} ({} round trips): {}", method, uri, stats.getRoundTrips(), nPlusOne);
+            }
+        }
+    }
+
+    /**
+     * Route pattern set by handler mapping (annotated controllers and router functions),
+     * so path variables do not create a meter per product id
+     */
+    private static String route(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof PathPattern pathPattern) {
+            return pathPattern.getPatternString();
+        }
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
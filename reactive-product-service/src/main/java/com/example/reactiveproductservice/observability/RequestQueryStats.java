@@ -0,0 +1,80 @@
+package com.example.reactiveproductservice.observability;
+
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statements one HTTP request sent to the database
+ *
+ * QueryStatsWebFilter puts an instance into the Reactor context, QueryMetricsListener adds
+ * every statement executed under it. Scheduled jobs are not attributed to any request; a
+ * batched by-id lookup counts for the request that opened the batch.
+ */
+public class RequestQueryStats {
+
+    static final String CONTEXT_KEY = RequestQueryStats.class.getName();
+
+    private final String request;
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final AtomicLong databaseNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executionsByTemplate = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> selectsByTable = new ConcurrentHashMap<>();
+
+    RequestQueryStats(String request) {
+        this.request = request;
+    }
+
+    static RequestQueryStats from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, null);
+    }
+
+    void record(String template, long nanos) {
+        roundTrips.incrementAndGet();
+        databaseNanos.addAndGet(nanos);
+        executionsByTemplate.computeIfAbsent(template, key -> new AtomicInteger()).incrementAndGet();
+        String table = StatementTemplates.selectedTable(template);
+        if (table != null) {
+            selectsByTable.computeIfAbsent(table, key -> ConcurrentHashMap.newKeySet()).add(template);
+        }
+    }
+
+    /**
+     * Method and path, for log lines
+     */
+    public String getRequest() {
+        return request;
+    }
+
+    public int getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    public Duration getDatabaseTime() {
+        return Duration.ofNanos(databaseNanos.get());
+    }
+
+    /**
+     * Describes the first N+1 pattern found, or null: one statement executed repeatedly
+     * (a query per item of an earlier result), or several different SELECTs against one table
+     * that a single query could answer (e.g. separate existence checks on users)
+     */
+    public String suspectedNPlusOne(int repeatThreshold) {
+        for (Map.Entry<String, AtomicInteger> execution : executionsByTemplate.entrySet()) {
+            if (execution.getValue().get() >= repeatThreshold) {
+                return execution.getValue().get() + " executions of " + execution.getKey();
+            }
+        }
+        for (Map.Entry<String, Set<String>> selects : selectsByTable.entrySet()) {
+            if (selects.getValue().size() > 1) {
+                return selects.getValue().size() + " separate queries on " + selects.getKey() + ": " + selects.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.reactiveproductservice.observability;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns SQL into a statement template usable as a metric tag
+ *
+ * Statements are already parameterized ($1, $2, ...); what still varies per call are
+ * expanded IN lists and LIMIT/OFFSET literals, which are collapsed here.
+ */
+public final class StatementTemplates {
+
+    static final int MAX_LENGTH = 300;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile(
+            "(?i)\\bIN\\s*\\(\\s*(?:\\$\\d+|\\?|:\\w+)(?:\\s*,\\s*(?:\\$\\d+|\\?|:\\w+))*\\s*\\)");
+    private static final Pattern LIMIT_OFFSET = Pattern.compile("(?i)\\b(LIMIT|OFFSET)\\s+\\d+");
+    private static final Pattern SELECTED_TABLE = Pattern.compile("(?i)\\bFROM\\s+\"?([\\w.]+)\"?");
+
+    private StatementTemplates() {
+    }
+
+    public static String template(String sql) {
+        String template = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        template = IN_LIST.matcher(template).replaceAll("IN (...)");
+        template = LIMIT_OFFSET.matcher(template).replaceAll("$1 ?");
+        return template.length() > MAX_LENGTH ? template.substring(0, MAX_LENGTH) + "..." : template;
+    }
+
+    /**
+     * Table a SELECT reads from, or null for other statements
+     */
+    public static String selectedTable(String template) {
+        if (!template.regionMatches(true, 0, "SELECT", 0, 6)) {
+            return null;
+        }
+        Matcher matcher = SELECTED_TABLE.matcher(template);
+        return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+}
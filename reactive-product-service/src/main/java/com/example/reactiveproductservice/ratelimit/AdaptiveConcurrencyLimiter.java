@@ -0,0 +1,152 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive Concurrency Limiter
+ * 
+ * Gradient-based limiter (in the spirit of Netflix concurrency-limits) wrapped around
+ * database calls. The in-flight limit follows observed round-trip times:
+ * - RTT close to the baseline: the limit grows by roughly sqrt(limit)
+ * - RTT above baseline * tolerance: the limit shrinks proportionally
+ * - timeouts / database failures: multiplicative decrease
+ * 
+ * Calls over the limit fail fast with 503 instead of queueing behind a slow database.
+ * Expensive (LOW priority) calls may only use part of the limit, so cheap lookups keep
+ * working while scans and searches are shed first. Only HIGH priority calls feed RTT
+ * samples, since cheap single-row lookups give a stable latency signal.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+    
+    public enum Priority {
+        // Cheap, latency-sensitive calls (single-row lookups, writes)
+        HIGH,
+        // Expensive calls (scans, searches) - shed first
+        LOW
+    }
+    
+    private final AdaptiveLimitProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    private volatile double limit;
+    private double baselineRttNanos;
+    
+    public AdaptiveConcurrencyLimiter(AdaptiveLimitProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+    
+    public <T> Mono<T> limit(Priority priority, Mono<T> source) {
+        if (!properties.isEnabled()) {
+            return source;
+        }
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            if (!tryAcquire(priority)) {
+                return Mono.error(new ServiceOverloadedException(properties.getRetryAfter()));
+            }
+            return source.doOnError(this::onError)
+                    .doFinally(signal -> release(priority, signal, startNanos));
+        });
+    }
+    
+    /**
+     * The permit is held until the source terminates, so a slow subscriber holds it too.
+     * Streaming endpoints must not pace delivery against the limited source: buffer after
+     * it (see ProductController.streamAllProducts) so the permit covers only database work.
+     */
+    public <T> Flux<T> limit(Priority priority, Flux<T> source) {
+        if (!properties.isEnabled()) {
+            return source;
+        }
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            if (!tryAcquire(priority)) {
+                return Flux.error(new ServiceOverloadedException(properties.getRetryAfter()));
+            }
+            return source.doOnError(this::onError)
+                    .doFinally(signal -> release(priority, signal, startNanos));
+        });
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    boolean tryAcquire(Priority priority) {
+        int allowed = priority == Priority.HIGH
+                ? (int) limit
+                : Math.max(1, (int) (limit * properties.getLowPriorityShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                log.debug("Shedding {} priority call: {} in flight, limit {}", priority, current, allowed);
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    private void release(Priority priority, SignalType signal, long startNanos) {
+        int current = inFlight.getAndDecrement();
+        if (priority == Priority.HIGH && signal == SignalType.ON_COMPLETE) {
+            onSample(System.nanoTime() - startNanos, current);
+        }
+    }
+    
+    private void onError(Throwable error) {
+        if (error instanceof TransientDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof TimeoutException) {
+            onDropped();
+        }
+    }
+    
+    synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+            return;
+        }
+        double window = properties.getBaselineWindow();
+        baselineRttNanos = baselineRttNanos * (1 - 1 / window) + rttNanos / window;
+        
+        // Don't grow the limit while most of it is unused
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * baselineRttNanos / rttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothing = properties.getSmoothing();
+        setLimit(limit * (1 - smoothing) + estimate * smoothing);
+    }
+    
+    synchronized void onDropped() {
+        setLimit(limit * properties.getBackoffRatio());
+    }
+    
+    private void setLimit(double newLimit) {
+        double bounded = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+        if ((int) bounded != (int) limit) {
+            log.debug("Adaptive concurrency limit changed: {} -> {}", (int) limit, (int) bounded);
+        }
+        limit = bounded;
+    }
+}
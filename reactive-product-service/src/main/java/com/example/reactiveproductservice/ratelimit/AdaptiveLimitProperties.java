@@ -0,0 +1,41 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Adaptive concurrency limit configuration (prefix: adaptive-limit)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "adaptive-limit")
+public class AdaptiveLimitProperties {
+    
+    private boolean enabled = true;
+    
+    // Bounds of the in-flight limit
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    
+    // How much slower than the baseline RTT a sample may be before the limit shrinks
+    private double rttTolerance = 2.0;
+    
+    // Weight of each new limit estimate (0..1)
+    private double smoothing = 0.2;
+    
+    // Number of samples the baseline RTT averages over
+    private int baselineWindow = 500;
+    
+    // Multiplicative decrease applied when a call times out or the database fails
+    private double backoffRatio = 0.9;
+    
+    // Share of the limit available to expensive (low priority) operations
+    private double lowPriorityShare = 0.75;
+    
+    // Retry-After advertised on 503 responses
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,46 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Identifies "who" a request belongs to: the authenticated subject when there is one,
+ * otherwise the remote IP
+ * 
+ * Uses the connection's remote address; enable server.forward-headers-strategy when
+ * running behind a trusted proxy instead of trusting X-Forwarded-For here.
+ */
+public final class ClientKeyResolver {
+    
+    private ClientKeyResolver() {
+    }
+    
+    public static Mono<String> resolve(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(SecurityContext::getAuthentication)
+                .filter(ClientKeyResolver::isAuthenticatedUser)
+                .map(authentication -> ClientRequestLimiter.userKey(authentication.getName()))
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + remoteAddress(exchange.getRequest())));
+    }
+    
+    public static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null
+                ? address.getAddress().getHostAddress()
+                : address.getHostString();
+    }
+    
+    private static boolean isAuthenticatedUser(Authentication authentication) {
+        return authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
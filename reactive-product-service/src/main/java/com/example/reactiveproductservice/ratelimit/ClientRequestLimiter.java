@@ -0,0 +1,57 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-client token buckets shared by the JWT filter and RateLimitWebFilter
+ *
+ * A request with a bearer token is charged by JwtAuthenticationWebFilter as soon as the
+ * signature is verified, keyed by the token's subject and before the user is loaded, so a
+ * throttled client never reaches the R2DBC pool. Every other request is charged by
+ * RateLimitWebFilter, keyed by remote IP. Each exchange is charged at most once.
+ */
+@Component
+public class ClientRequestLimiter {
+
+    private static final String CHARGED_ATTRIBUTE = ClientRequestLimiter.class.getName() + ".charged";
+
+    private final boolean enabled;
+    private final TokenBucketRegistry buckets;
+
+    public ClientRequestLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.buckets = new TokenBucketRegistry(properties.getRequestsPerSecond(), properties.getBurst(),
+                properties.getStripes(), properties.getMaxKeysPerStripe());
+    }
+
+    public static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    /**
+     * Take one token for the client and mark the exchange as charged
+     * Returns 0 when the request may proceed, otherwise the nanos until the client may retry
+     */
+    public long tryConsume(ServerWebExchange exchange, String clientKey) {
+        exchange.getAttributes().put(CHARGED_ATTRIBUTE, Boolean.TRUE);
+        return enabled ? buckets.tryConsume(clientKey) : 0;
+    }
+
+    public boolean isCharged(ServerWebExchange exchange) {
+        return exchange.getAttributes().containsKey(CHARGED_ATTRIBUTE);
+    }
+
+    /**
+     * 429 Too Many Requests with a Retry-After header
+     */
+    public static Mono<Void> reject(ServerWebExchange exchange, long waitNanos) {
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(RateLimitWebFilter.retryAfterSeconds(waitNanos)));
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking in-flight request counter for one route
+ */
+public final class ConcurrencyLimit {
+    
+    private final String pathPrefix;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public ConcurrencyLimit(String pathPrefix, int maxInFlight) {
+        this.pathPrefix = pathPrefix;
+        this.maxInFlight = maxInFlight;
+    }
+    
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+    
+    public boolean matches(String path) {
+        return path.startsWith(pathPrefix);
+    }
+    
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Brute-force protection for the login endpoint
+ * 
+ * Kept separate from the general request limiter: login attempts are throttled far more
+ * tightly, both per username (password guessing) and per IP (credential stuffing).
+ */
+@Component
+public class LoginAttemptThrottle {
+    
+    private final TokenBucketRegistry byUsername;
+    private final TokenBucketRegistry byAddress;
+    
+    public LoginAttemptThrottle(RateLimitProperties properties) {
+        RateLimitProperties.Login login = properties.getLogin();
+        double permitsPerSecond = login.getAttemptsPerMinute() / 60.0;
+        this.byUsername = new TokenBucketRegistry(permitsPerSecond, login.getBurst(),
+                properties.getStripes(), properties.getMaxKeysPerStripe());
+        this.byAddress = new TokenBucketRegistry(permitsPerSecond, login.getBurst(),
+                properties.getStripes(), properties.getMaxKeysPerStripe());
+    }
+    
+    /**
+     * Register a login attempt
+     * Returns 0 when the attempt may proceed, otherwise the nanos until the next one is allowed
+     * 
+     * The address is checked first: an address over its limit neither drains the username's
+     * bucket nor adds attacker-chosen usernames to the registry.
+     */
+    public long tryAttempt(String username, String remoteAddress) {
+        long addressWait = byAddress.tryConsume(remoteAddress);
+        if (addressWait > 0) {
+            return addressWait;
+        }
+        return byUsername.tryConsume(normalize(username));
+    }
+    
+    /**
+     * A successful login clears the username's history
+     * 
+     * This does not prevent lockout: anyone can drain a username's bucket with wrong passwords
+     * and delay that user's logins until it refills. The per-IP limit bounds how fast a single
+     * address can do so, since attempts it rejects never reach the username buckets.
+     */
+    public void onSuccess(String username) {
+        byUsername.reset(normalize(username));
+    }
+    
+    private static String normalize(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+}
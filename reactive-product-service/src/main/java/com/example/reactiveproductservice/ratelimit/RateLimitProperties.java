@@ -0,0 +1,50 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limiting configuration (prefix: rate-limit)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    
+    private boolean enabled = true;
+    
+    // Per-client token bucket (client = JWT subject, or remote IP when anonymous)
+    private double requestsPerSecond = 50;
+    private int burst = 100;
+    
+    // Bucket storage
+    private int stripes = 16;
+    private int maxKeysPerStripe = 4096;
+    
+    // Max in-flight requests per path prefix, e.g. rate-limit.concurrency[/api/products/search]=8
+    private Map<String, Integer> concurrency = new LinkedHashMap<>();
+    
+    // Long-lived responses (SSE) exempt from the route concurrency limits - a handful of open
+    // streams would otherwise take the whole budget. Their database read is still limited.
+    private List<String> streamingPaths = new ArrayList<>(List.of("/api/products/stream"));
+    
+    // Retry-After advertised when a concurrency limit sheds a request
+    private Duration concurrencyRetryAfter = Duration.ofSeconds(1);
+    
+    private Login login = new Login();
+    
+    @Data
+    public static class Login {
+        
+        // Brute-force throttling, applied per username and per IP
+        private int attemptsPerMinute = 5;
+        private int burst = 5;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limiting Filter
+ * 
+ * Runs after the Spring Security chain and applies:
+ * 1. the per-client token bucket to requests the JWT filter has not already charged
+ *    (anonymous and public ones, keyed by remote IP - see ClientRequestLimiter)
+ * 2. per-route concurrency limits that shed load before the R2DBC pool is exhausted
+ *    (except for streaming paths, which stay open far longer than their database work)
+ * 
+ * Rejected requests get 429 Too Many Requests with a Retry-After header.
+ */
+@Component
+@Order(RateLimitWebFilter.ORDER)
+@Slf4j
+public class RateLimitWebFilter implements WebFilter {
+    
+    // Spring Security's WebFilterChainProxy runs at -100, so the security context is populated by now
+    public static final int ORDER = 0;
+    
+    private final RateLimitProperties properties;
+    private final ClientRequestLimiter clientLimiter;
+    private final List<ConcurrencyLimit> concurrencyLimits;
+    
+    public RateLimitWebFilter(RateLimitProperties properties, ClientRequestLimiter clientLimiter) {
+        this.properties = properties;
+        this.clientLimiter = clientLimiter;
+        // Longest prefix first so the most specific route wins
+        this.concurrencyLimits = properties.getConcurrency().entrySet().stream()
+                .map(entry -> new ConcurrencyLimit(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt((ConcurrencyLimit limit) -> limit.getPathPrefix().length()).reversed())
+                .toList();
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        
+        if (clientLimiter.isCharged(exchange)) {
+            return limitConcurrency(exchange, chain);
+        }
+        return ClientKeyResolver.resolve(exchange)
+                .flatMap(clientKey -> {
+                    long waitNanos = clientLimiter.tryConsume(exchange, clientKey);
+                    if (waitNanos > 0) {
+                        log.debug("Rate limit exceeded for {}", clientKey);
+                        return ClientRequestLimiter.reject(exchange, waitNanos);
+                    }
+                    return limitConcurrency(exchange, chain);
+                });
+    }
+    
+    private Mono<Void> limitConcurrency(ServerWebExchange exchange, WebFilterChain chain) {
+        ConcurrencyLimit limit = findConcurrencyLimit(exchange.getRequest().getPath().value());
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+        if (!limit.tryAcquire()) {
+            log.debug("Concurrency limit reached for {}", limit.getPathPrefix());
+            return ClientRequestLimiter.reject(exchange, properties.getConcurrencyRetryAfter().toNanos());
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> limit.release());
+    }
+    
+    private ConcurrencyLimit findConcurrencyLimit(String path) {
+        if (properties.getStreamingPaths().contains(path)) {
+            return null;
+        }
+        for (ConcurrencyLimit limit : concurrencyLimits) {
+            if (limit.matches(path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+    
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
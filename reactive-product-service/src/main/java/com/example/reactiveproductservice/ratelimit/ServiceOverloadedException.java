@@ -0,0 +1,23 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import com.example.reactiveproductservice.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+/**
+ * Raised when the adaptive limiter sheds a request (503 Service Unavailable)
+ */
+public class ServiceOverloadedException extends ApiException {
+    
+    private final Duration retryAfter;
+    
+    public ServiceOverloadedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Service is overloaded, please retry later");
+        this.retryAfter = retryAfter;
+    }
+    
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket
+ * 
+ * Implemented as a GCRA (generic cell rate algorithm): the whole bucket state is a
+ * single "theoretical arrival time", so a permit is one CAS on an AtomicLong and
+ * never allocates.
+ */
+public final class TokenBucket {
+    
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+    
+    public TokenBucket(long emissionIntervalNanos, int burst) {
+        if (emissionIntervalNanos <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Emission interval and burst must be positive");
+        }
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstNanos = emissionIntervalNanos * burst;
+    }
+    
+    /**
+     * Try to take one token
+     * Returns 0 when the token was granted, otherwise the nanos until one becomes available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long wait = newTat - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * A full bucket carries no state worth keeping and can be evicted
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
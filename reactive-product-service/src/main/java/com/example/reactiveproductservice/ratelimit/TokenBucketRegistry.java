@@ -0,0 +1,101 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Striped, self-cleaning map of token buckets keyed by client
+ * 
+ * Each stripe is an independent ConcurrentHashMap so that sweeping idle buckets
+ * only ever touches one stripe. A full stripe is swept at most once per second; if it is
+ * still full afterwards, new keys share the stripe's overflow bucket instead of getting
+ * their own. A flood of distinct keys (e.g. spoofed IPs) therefore cannot grow memory
+ * beyond roughly stripes * maxKeysPerStripe, and is rate limited as a whole.
+ */
+public final class TokenBucketRegistry {
+    
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int maxKeysPerStripe;
+    private final long emissionIntervalNanos;
+    private final int burst;
+    
+    public TokenBucketRegistry(double permitsPerSecond, int burst, int stripeCount, int maxKeysPerStripe) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burst = burst;
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(new TokenBucket(emissionIntervalNanos, burst));
+        }
+        this.stripeMask = size - 1;
+        this.maxKeysPerStripe = maxKeysPerStripe;
+    }
+    
+    /**
+     * Take one token for the given key
+     * Returns 0 when granted, otherwise the nanos until the key may retry
+     */
+    public long tryConsume(String key) {
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(key);
+        TokenBucket bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= maxKeysPerStripe) {
+                stripe.sweepIfDue(now);
+            }
+            bucket = stripe.buckets.size() < maxKeysPerStripe
+                    ? stripe.buckets.computeIfAbsent(key, k -> new TokenBucket(emissionIntervalNanos, burst))
+                    // Still full of active clients - share one bucket until space frees up
+                    : stripe.overflow;
+        }
+        return bucket.tryConsume(now);
+    }
+    
+    /**
+     * Forget the state of a key (e.g. after a successful login)
+     */
+    public void reset(String key) {
+        stripeFor(key).buckets.remove(key);
+    }
+    
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.buckets.size();
+        }
+        return total;
+    }
+    
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+    
+    private static final class Stripe {
+        
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final TokenBucket overflow;
+        private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+        
+        private Stripe(TokenBucket overflow) {
+            this.overflow = overflow;
+        }
+        
+        /**
+         * Drop idle (refilled) buckets, unless another thread swept within the last interval
+         */
+        void sweepIfDue(long now) {
+            long last = lastSweepNanos.get();
+            if (now - last >= SWEEP_INTERVAL_NANOS && lastSweepNanos.compareAndSet(last, now)) {
+                buckets.values().removeIf(bucket -> bucket.isFull(now));
+            }
+        }
+    }
+}
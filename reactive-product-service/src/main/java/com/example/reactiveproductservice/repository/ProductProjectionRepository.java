@@ -0,0 +1,25 @@
+package com.example.reactiveproductservice.repository;
+
+import com.example.reactiveproductservice.dto.ProductFields;
+import com.example.reactiveproductservice.model.Product;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Product queries that only SELECT the requested columns
+ * (custom fragment of ProductRepository)
+ * 
+ * Unselected properties of the returned Product are null.
+ */
+public interface ProductProjectionRepository {
+    
+    Flux<Product> findAllProjected(ProductFields fields);
+    
+    Flux<Product> findByIdInProjected(Collection<Long> ids, ProductFields fields);
+    
+    Flux<Product> findByNameContainingIgnoreCaseProjected(String name, ProductFields fields);
+    
+    Flux<Product> findByPriceLessThanProjected(BigDecimal price, ProductFields fields);
+}
@@ -0,0 +1,59 @@
+package com.example.reactiveproductservice.repository;
+
+import com.example.reactiveproductservice.dto.ProductFields;
+import com.example.reactiveproductservice.model.Product;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.relational.core.dialect.Escaper;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Column-projected product queries through R2dbcEntityTemplate
+ */
+class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+    
+    private final R2dbcEntityTemplate template;
+    private final Escaper likeEscaper;
+    
+    ProductProjectionRepositoryImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+        // Same escaping as the derived findByNameContainingIgnoreCase, so both match the same rows
+        this.likeEscaper = DialectResolver.getDialect(template.getDatabaseClient().getConnectionFactory())
+                .getLikeEscaper();
+    }
+    
+    @Override
+    public Flux<Product> findAllProjected(ProductFields fields) {
+        return select(Criteria.empty(), fields);
+    }
+    
+    @Override
+    public Flux<Product> findByIdInProjected(Collection<Long> ids, ProductFields fields) {
+        return select(Criteria.where("id").in(ids), fields);
+    }
+    
+    @Override
+    public Flux<Product> findByNameContainingIgnoreCaseProjected(String name, ProductFields fields) {
+        return select(Criteria.where("name").like("%" + likeEscaper.escape(name) + "%").ignoreCase(true), fields);
+    }
+    
+    @Override
+    public Flux<Product> findByPriceLessThanProjected(BigDecimal price, ProductFields fields) {
+        return select(Criteria.where("price").lessThan(price), fields);
+    }
+    
+    private Flux<Product> select(Criteria criteria, ProductFields fields) {
+        Query query = Query.query(criteria);
+        if (!fields.isAll()) {
+            query = query.columns(fields.getColumns());
+        }
+        return template.select(Product.class)
+                .matching(query)
+                .all();
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.reactiveproductservice.repository;
 
 import com.example.reactiveproductservice.model.Product;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
 @Repository
-public interface ProductRepository extends ReactiveCrudRepository<Product, Long> {
+public interface ProductRepository extends ReactiveCrudRepository<Product, Long>, ProductProjectionRepository {
     
     // Custom query methods - Spring Data will implement these automatically!
     Flux<Product> findByNameContainingIgnoreCase(String name);
     
     Flux<Product> findByPriceLessThan(java.math.BigDecimal price);
+    
+    // Sorted/limited price range reads (fallback when the columnar catalog is not loaded)
+    Flux<Product> findByPriceBetween(java.math.BigDecimal min, java.math.BigDecimal max, Pageable pageable);
+    
+    Flux<Product> findByPriceGreaterThanEqual(java.math.BigDecimal min, Pageable pageable);
+    
+    // Multi-get in one round trip; a single array parameter keeps one statement shape for any batch size
+    @Query("SELECT * FROM products WHERE id = ANY(:ids)")
+    Flux<Product> findByIdIn(Long[] ids);
 }
@@ -0,0 +1,27 @@
+package com.example.reactiveproductservice.repository;
+
+import com.example.reactiveproductservice.model.RefreshToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RefreshTokenRepository extends ReactiveCrudRepository<RefreshToken, Long> {
+    
+    // Atomic check-and-revoke: returns 0 when the token is unknown or was already used
+    @Modifying
+    @Query("UPDATE refresh_tokens SET revoked = true WHERE token_hash = :tokenHash AND revoked = false")
+    Mono<Integer> revoke(String tokenHash);
+    
+    @Modifying
+    @Query("UPDATE refresh_tokens SET revoked = true WHERE username = :username AND revoked = false")
+    Mono<Integer> revokeAllForUser(String username);
+    
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE expires_at < :now")
+    Mono<Integer> deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,163 @@
+package com.example.reactiveproductservice.repository.jdbc;
+
+import org.reactivestreams.Publisher;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ReactiveCrudRepository on plain JDBC for tables with a generated BIGINT id
+ *
+ * Subclasses supply the row mapping and the INSERT/UPDATE statements; everything
+ * else (publisher variants, bulk deletes, ...) is derived here. Like Spring Data R2DBC,
+ * save() inserts when the id is null and fails if an update matches no row.
+ */
+public abstract class AbstractJdbcCrudRepository<T> implements ReactiveCrudRepository<T, Long> {
+
+    protected final JdbcExecutor jdbc;
+    protected final String table;
+
+    protected AbstractJdbcCrudRepository(JdbcExecutor jdbc, String table) {
+        this.jdbc = jdbc;
+        this.table = table;
+    }
+
+    protected abstract T mapRow(ResultSet resultSet) throws SQLException;
+
+    protected abstract Long getId(T entity);
+
+    /**
+     * Insert and set the generated id on the entity
+     */
+    protected abstract void insert(Connection connection, T entity) throws SQLException;
+
+    /**
+     * Update by id, returning the number of rows changed
+     */
+    protected abstract int update(Connection connection, T entity) throws SQLException;
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        return jdbc.execute(connection -> {
+            if (getId(entity) == null) {
+                insert(connection, entity);
+            } else if (update(connection, entity) == 0) {
+                throw new TransientDataAccessResourceException(
+                        "Failed to update table [" + table + "]; row with id [" + getId(entity) + "] does not exist");
+            }
+            return entity;
+        });
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<T> findById(Long id) {
+        return jdbc.queryOne("SELECT * FROM " + table + " WHERE id = ?", this::mapRow, id);
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Long id) {
+        return jdbc.queryOne("SELECT 1 FROM " + table + " WHERE id = ?", resultSet -> true, id)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return jdbc.query("SELECT * FROM " + table, this::mapRow);
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<Long> ids) {
+        List<Long> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        if (idList.isEmpty()) {
+            return Flux.empty();
+        }
+        return jdbc.query("SELECT * FROM " + table + " WHERE id IN (" + placeholders(idList.size()) + ")",
+                this::mapRow, idList.toArray());
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<Long> idStream) {
+        return Flux.from(idStream).collectList().flatMapMany(ids -> findAllById(ids));
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return jdbc.queryOne("SELECT COUNT(*) FROM " + table, resultSet -> resultSet.getLong(1));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return jdbc.update("DELETE FROM " + table + " WHERE id = ?", id).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<Long> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        return deleteById(getId(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends Long> ids) {
+        List<Object> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        if (idList.isEmpty()) {
+            return Mono.empty();
+        }
+        return jdbc.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(idList.size()) + ")",
+                idList.toArray()).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        List<Long> ids = new ArrayList<>();
+        entities.forEach(entity -> ids.add(getId(entity)));
+        return deleteAllById(ids);
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        return Flux.from(entityStream).collectList().flatMap(entities -> deleteAll(entities));
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return jdbc.update("DELETE FROM " + table).then();
+    }
+
+    protected static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
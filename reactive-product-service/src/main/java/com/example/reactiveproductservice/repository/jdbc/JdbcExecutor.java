@@ -0,0 +1,149 @@
+package com.example.reactiveproductservice.repository.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking JDBC work off the event loop and bridges the result into Mono/Flux
+ *
+ * Uses one virtual thread per call when the JVM supports it (Java 21+), otherwise a fixed
+ * pool sized to the connection pool - more platform threads would only queue in Hikari.
+ * Result sets are read fully on the worker thread and emitted as a list.
+ */
+@Slf4j
+public class JdbcExecutor implements DisposableBean {
+
+    @FunctionalInterface
+    public interface ConnectionCallback<T> {
+        T doInConnection(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T mapRow(ResultSet resultSet) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+    private final ExecutorService executor;
+    private final Scheduler scheduler;
+    private final boolean virtualThreads;
+
+    public JdbcExecutor(DataSource dataSource, int platformThreads) {
+        this.dataSource = dataSource;
+        ExecutorService virtual = newVirtualThreadExecutor();
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(platformThreads, daemonThreads());
+        this.scheduler = Schedulers.fromExecutorService(executor, "jdbc");
+        log.info("JDBC backend running on {}", virtualThreads ? "virtual threads" : platformThreads + " platform threads");
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Run work on a pooled connection; a null result completes empty
+     */
+    public <T> Mono<T> execute(ConnectionCallback<T> work) {
+        return Mono.fromCallable(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        return work.doInConnection(connection);
+                    } catch (SQLException e) {
+                        throw translate(e);
+                    }
+                })
+                .subscribeOn(scheduler);
+    }
+
+    public <T> Flux<T> query(String sql, RowMapper<T> mapper, Object... parameters) {
+        return execute(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql, parameters);
+                 ResultSet resultSet = statement.executeQuery()) {
+                List<T> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    rows.add(mapper.mapRow(resultSet));
+                }
+                return rows;
+            }
+        }).flatMapIterable(rows -> rows);
+    }
+
+    public <T> Mono<T> queryOne(String sql, RowMapper<T> mapper, Object... parameters) {
+        return execute(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql, parameters);
+                 ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? mapper.mapRow(resultSet) : null;
+            }
+        });
+    }
+
+    public Mono<Integer> update(String sql, Object... parameters) {
+        return execute(connection -> {
+            try (PreparedStatement statement = prepare(connection, sql, parameters)) {
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    public static PreparedStatement prepare(Connection connection, String sql, Object... parameters) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        bind(statement, parameters);
+        return statement;
+    }
+
+    public static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+        executor.shutdown();
+    }
+
+    private static DataAccessException translate(SQLException e) {
+        String state = e.getSQLState();
+        if (state != null && state.startsWith("23")) {
+            return new DataIntegrityViolationException(e.getMessage(), e);
+        }
+        return new DataAccessResourceFailureException(e.getMessage(), e);
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "jdbc-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.reactiveproductservice.repository.jdbc;
+
+import com.example.reactiveproductservice.dto.ProductFields;
+import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.repository.ProductRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.dialect.Escaper;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductRepository on JDBC (persistence.backend=jdbc)
+ *
+ * Same queries as the derived/annotated R2DBC methods, written in SQL that runs on both
+ * Postgres and H2.
+ */
+public class JdbcProductRepository extends AbstractJdbcCrudRepository<Product> implements ProductRepository {
+
+    private static final String ALL_COLUMNS = String.join(", ", ProductFields.all().getColumns());
+
+    // Sortable properties -> columns (Pageable sorts come from code, but never concatenate unchecked names)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id", "name", "name", "price", "price", "quantity", "quantity",
+            "createdAt", "created_at", "updatedAt", "updated_at");
+
+    public JdbcProductRepository(JdbcExecutor jdbc) {
+        super(jdbc, "products");
+    }
+
+    @Override
+    public Flux<Product> findByNameContainingIgnoreCase(String name) {
+        return findByNameContainingIgnoreCaseProjected(name, ProductFields.all());
+    }
+
+    @Override
+    public Flux<Product> findByPriceLessThan(BigDecimal price) {
+        return findByPriceLessThanProjected(price, ProductFields.all());
+    }
+
+    @Override
+    public Flux<Product> findByPriceBetween(BigDecimal min, BigDecimal max, Pageable pageable) {
+        return jdbc.query("SELECT * FROM products WHERE price BETWEEN ? AND ?" + page(pageable),
+                this::mapRow, min, max);
+    }
+
+    @Override
+    public Flux<Product> findByPriceGreaterThanEqual(BigDecimal min, Pageable pageable) {
+        return jdbc.query("SELECT * FROM products WHERE price >= ?" + page(pageable), this::mapRow, min);
+    }
+
+    @Override
+    public Flux<Product> findByIdIn(Long[] ids) {
+        if (ids.length == 0) {
+            return Flux.empty();
+        }
+        return jdbc.query("SELECT * FROM products WHERE id IN (" + placeholders(ids.length) + ")",
+                this::mapRow, (Object[]) ids);
+    }
+
+    @Override
+    public Flux<Product> findAllProjected(ProductFields fields) {
+        return select(fields, "");
+    }
+
+    @Override
+    public Flux<Product> findByIdInProjected(Collection<Long> ids, ProductFields fields) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return select(fields, " WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    @Override
+    public Flux<Product> findByNameContainingIgnoreCaseProjected(String name, ProductFields fields) {
+        return select(fields, " WHERE UPPER(name) LIKE UPPER(?) ESCAPE '\\'", "%" + Escaper.DEFAULT.escape(name) + "%");
+    }
+
+    @Override
+    public Flux<Product> findByPriceLessThanProjected(BigDecimal price, ProductFields fields) {
+        return select(fields, " WHERE price < ?", price);
+    }
+
+    @Override
+    protected Product mapRow(ResultSet resultSet) throws SQLException {
+        return mapColumns(resultSet, ProductFields.all().getColumns());
+    }
+
+    @Override
+    protected Long getId(Product product) {
+        return product.getId();
+    }
+
+    @Override
+    protected void insert(Connection connection, Product product) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO products (name, description, price, quantity, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            JdbcExecutor.bind(statement, product.getName(), product.getDescription(), product.getPrice(),
+                    product.getQuantity(), product.getCreatedAt(), product.getUpdatedAt());
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    product.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int update(Connection connection, Product product) throws SQLException {
+        try (PreparedStatement statement = JdbcExecutor.prepare(connection,
+                "UPDATE products SET name = ?, description = ?, price = ?, quantity = ?, created_at = ?, updated_at = ? WHERE id = ?",
+                product.getName(), product.getDescription(), product.getPrice(), product.getQuantity(),
+                product.getCreatedAt(), product.getUpdatedAt(), product.getId())) {
+            return statement.executeUpdate();
+        }
+    }
+
+    private Flux<Product> select(ProductFields fields, String where, Object... parameters) {
+        List<String> columns = fields.getColumns();
+        String selected = fields.isAll() ? ALL_COLUMNS : String.join(", ", columns);
+        return jdbc.query("SELECT " + selected + " FROM products" + where,
+                resultSet -> mapColumns(resultSet, columns), parameters);
+    }
+
+    private static Product mapColumns(ResultSet resultSet, List<String> columns) throws SQLException {
+        Product product = new Product();
+        for (String column : columns) {
+            switch (column) {
+                case "id" -> product.setId(resultSet.getLong("id"));
+                case "name" -> product.setName(resultSet.getString("name"));
+                case "description" -> product.setDescription(resultSet.getString("description"));
+                case "price" -> product.setPrice(resultSet.getBigDecimal("price"));
+                case "quantity" -> product.setQuantity(resultSet.getObject("quantity", Integer.class));
+                case "created_at" -> product.setCreatedAt(resultSet.getObject("created_at", LocalDateTime.class));
+                case "updated_at" -> product.setUpdatedAt(resultSet.getObject("updated_at", LocalDateTime.class));
+                default -> throw new IllegalArgumentException("Unmapped product column: " + column);
+            }
+        }
+        return product;
+    }
+
+    private static String page(Pageable pageable) {
+        StringBuilder sql = new StringBuilder();
+        if (pageable.getSort().isSorted()) {
+            List<String> orders = new ArrayList<>();
+            for (Sort.Order order : pageable.getSort()) {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column == null) {
+                    throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+                }
+                orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+            sql.append(" ORDER BY ").append(String.join(", ", orders));
+        }
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ").append(pageable.getPageSize()).append(" OFFSET ").append(pageable.getOffset());
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.reactiveproductservice.repository.jdbc;
+
+import com.example.reactiveproductservice.model.User;
+import com.example.reactiveproductservice.repository.UserRepository;
+import reactor.core.publisher.Mono;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+/**
+ * UserRepository on JDBC (persistence.backend=jdbc)
+ */
+public class JdbcUserRepository extends AbstractJdbcCrudRepository<User> implements UserRepository {
+
+    public JdbcUserRepository(JdbcExecutor jdbc) {
+        super(jdbc, "users");
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return jdbc.queryOne("SELECT * FROM users WHERE username = ?", this::mapRow, username);
+    }
+
+    @Override
+    public Mono<Boolean> existsByUsername(String username) {
+        return jdbc.queryOne("SELECT 1 FROM users WHERE username = ?", resultSet -> true, username)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> existsByEmail(String email) {
+        return jdbc.queryOne("SELECT 1 FROM users WHERE email = ?", resultSet -> true, email)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    protected User mapRow(ResultSet resultSet) throws SQLException {
+        return new User(
+                resultSet.getLong("id"),
+                resultSet.getString("username"),
+                resultSet.getString("password"),
+                resultSet.getString("email"),
+                resultSet.getString("roles"),
+                resultSet.getBoolean("enabled"),
+                resultSet.getObject("created_at", LocalDateTime.class),
+                resultSet.getObject("updated_at", LocalDateTime.class));
+    }
+
+    @Override
+    protected Long getId(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected void insert(Connection connection, User user) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO users (username, password, email, roles, enabled, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            JdbcExecutor.bind(statement, user.getUsername(), user.getPassword(), user.getEmail(), user.getRoles(),
+                    user.getEnabled(), user.getCreatedAt(), user.getUpdatedAt());
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int update(Connection connection, User user) throws SQLException {
+        try (PreparedStatement statement = JdbcExecutor.prepare(connection,
+                "UPDATE users SET username = ?, password = ?, email = ?, roles = ?, enabled = ?, created_at = ?, updated_at = ? WHERE id = ?",
+                user.getUsername(), user.getPassword(), user.getEmail(), user.getRoles(), user.getEnabled(),
+                user.getCreatedAt(), user.getUpdatedAt(), user.getId())) {
+            return statement.executeUpdate();
+        }
+    }
+}
@@ -43,11 +43,25 @@ public class AuthRouter {
                       accept(MediaType.APPLICATION_JSON), 
                       authHandler::login)
                 
+                // POST /api/auth/refresh
+                .POST("/api/auth/refresh", 
+                      accept(MediaType.APPLICATION_JSON), 
+                      authHandler::refresh)
+                
+                // POST /api/auth/logout
+                .POST("/api/auth/logout", 
+                      accept(MediaType.APPLICATION_JSON), 
+                      authHandler::logout)
+                
                 // GET /api/auth/me
                 .GET("/api/auth/me", 
                      accept(MediaType.APPLICATION_JSON), 
                      authHandler::getCurrentUser)
                 
+                // GET /api/auth/jwks
+                .GET("/api/auth/jwks", 
+                     authHandler::jwks)
+                
                 .build();
     }
     
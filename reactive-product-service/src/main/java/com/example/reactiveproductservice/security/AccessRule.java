@@ -0,0 +1,63 @@
+package com.example.reactiveproductservice.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * What a route requires from the caller
+ */
+public final class AccessRule {
+    
+    private static final AccessRule PERMIT_ALL = new AccessRule(null, false);
+    private static final AccessRule AUTHENTICATED = new AccessRule(null, true);
+    
+    private final String requiredAuthority;
+    private final boolean authenticationRequired;
+    
+    private AccessRule(String requiredAuthority, boolean authenticationRequired) {
+        this.requiredAuthority = requiredAuthority;
+        this.authenticationRequired = authenticationRequired;
+    }
+    
+    public static AccessRule permitAll() {
+        return PERMIT_ALL;
+    }
+    
+    public static AccessRule authenticated() {
+        return AUTHENTICATED;
+    }
+    
+    public static AccessRule hasRole(String role) {
+        return new AccessRule("ROLE_" + role, true);
+    }
+    
+    public boolean isPublic() {
+        return !authenticationRequired;
+    }
+    
+    public boolean isGranted(Authentication authentication) {
+        if (!authenticationRequired) {
+            return true;
+        }
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (requiredAuthority == null) {
+            return true;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (requiredAuthority.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public String toString() {
+        if (!authenticationRequired) {
+            return "permitAll";
+        }
+        return requiredAuthority == null ? "authenticated" : "hasAuthority(" + requiredAuthority + ")";
+    }
+}
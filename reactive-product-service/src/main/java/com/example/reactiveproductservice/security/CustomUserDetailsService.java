@@ -1,5 +1,6 @@
 package com.example.reactiveproductservice.security;
 
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
 import com.example.reactiveproductservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -22,10 +23,11 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements ReactiveUserDetailsService {
     
     private final UserRepository userRepository;
+    private final ReadWriteRouting routing;
     
     @Override
     public Mono<UserDetails> findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return routing.read(userRepository.findByUsername(username))
                 .switchIfEmpty(Mono.error(new UsernameNotFoundException("User not found: " + username)))
                 .map(user -> User.builder()
                         .username(user.getUsername())
@@ -1,36 +1,44 @@
 package com.example.reactiveproductservice.security;
 
+import com.example.reactiveproductservice.ratelimit.ClientRequestLimiter;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
-import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.observability.micrometer.Micrometer;
 import reactor.core.publisher.Mono;
 
 /**
  * JWT Authentication Filter
  * 
  * Intercepts requests, validates JWT tokens, and sets security context
+ * 
+ * The client's rate limit is charged right after the signature check, so a throttled
+ * client gets its 429 without a users-table lookup.
+ * 
+ * Not a @Component on purpose: SecurityConfig adds it to the security chain, and a
+ * WebFilter bean would additionally be registered globally and run twice per request.
  */
-@Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationWebFilter implements WebFilter {
     
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final RouteAuthorizationTable authorizationTable;
+    private final ClientRequestLimiter clientLimiter;
+    private final ObservationRegistry observationRegistry;
     
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String path = exchange.getRequest().getPath().value();
-        
-        // Skip authentication for public endpoints
-        if (path.startsWith("/api/auth/")) {
+        // Skip authentication for public endpoints (rule is cached for the authorization manager)
+        if (authorizationTable.resolve(exchange).isPublic()) {
             return chain.filter(exchange);
         }
         
@@ -41,14 +49,21 @@ public class JwtAuthenticationWebFilter implements WebFilter {
             String token = authHeader.substring(7);
             
             try {
-                // Validate token
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.getUsernameFromToken(token);
-                    
+                // Validate token (signature and expiry are checked in a single parse)
+                String username = jwtUtil.getUsernameIfValid(token);
+                if (username != null) {
                     log.debug("Valid JWT token for user: {}", username);
                     
-                    // Load user with roles from database
+                    long waitNanos = clientLimiter.tryConsume(exchange, ClientRequestLimiter.userKey(username));
+                    if (waitNanos > 0) {
+                        log.debug("Rate limit exceeded for user: {}", username);
+                        return ClientRequestLimiter.reject(exchange, waitNanos);
+                    }
+                    
+                    // Load user with roles from database (own span: the lookup is the filter's I/O)
                     return userDetailsService.findByUsername(username)
+                            .name("security.jwt.authentication")
+                            .tap(Micrometer.observation(observationRegistry))
                             .flatMap(userDetails -> {
                                 // Create authentication with actual roles
                                 UsernamePasswordAuthenticationToken authentication = 
@@ -0,0 +1,238 @@
+package com.example.reactiveproductservice.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JWT Key Store
+ * 
+ * Holds the signing key and all verification keys indexed by "kid", plus a single
+ * pre-built JwtParser that resolves keys through that index. Everything is built once
+ * per key-set version and swapped atomically, so verification never derives or parses
+ * keys on the request path.
+ * 
+ * Key rotation: publish the new key in the key set, wait for verifiers to pick it up,
+ * then switch jwt.active-key-id. Old keys stay in the set until their tokens expire.
+ */
+@Component
+@Slf4j
+public class JwtKeyStore {
+    
+    private final JwtProperties properties;
+    private volatile KeySnapshot snapshot;
+    private long keySetLastModified = -1;
+    
+    public JwtKeyStore(JwtProperties properties) {
+        this.properties = properties;
+        this.snapshot = load();
+    }
+    
+    public record SigningKey(String keyId, Key key) {
+    }
+    
+    private record KeySnapshot(SigningKey signingKey, JwtParser parser, List<PublicJwk<?>> publicJwks) {
+    }
+    
+    public SigningKey getSigningKey() {
+        SigningKey signingKey = snapshot.signingKey();
+        if (signingKey == null) {
+            throw new IllegalStateException("No signing key configured - this instance can only verify tokens");
+        }
+        return signingKey;
+    }
+    
+    public JwtParser getParser() {
+        return snapshot.parser();
+    }
+    
+    /**
+     * Public verification keys, for publishing as a JWKS document
+     */
+    public List<PublicJwk<?>> getPublicJwks() {
+        return snapshot.publicJwks();
+    }
+    
+    /**
+     * Reload the key set when the underlying resource changed
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-set-refresh-interval:PT5M}",
+               initialDelayString = "${jwt.key-set-refresh-interval:PT5M}")
+    public void refresh() {
+        Resource keySet = properties.getKeySet();
+        if (keySet == null || lastModified(keySet) == keySetLastModified) {
+            return;
+        }
+        try {
+            snapshot = load();
+            log.info("JWT key set reloaded from {}", keySet.getDescription());
+        } catch (RuntimeException e) {
+            log.error("Failed to reload JWT key set, keeping previous keys: {}", e.getMessage());
+        }
+    }
+    
+    private synchronized KeySnapshot load() {
+        Map<String, Key> verificationKeys = new LinkedHashMap<>();
+        List<PublicJwk<?>> publicJwks = new ArrayList<>();
+        SigningKey signingKey;
+        String algorithm = properties.getAlgorithm();
+        boolean hmac = "HS256".equalsIgnoreCase(algorithm);
+        
+        if (hmac) {
+            Key key = hmacKey();
+            String keyId = StringUtils.hasText(properties.getActiveKeyId()) ? properties.getActiveKeyId() : "hs";
+            verificationKeys.put(keyId, key);
+            signingKey = new SigningKey(keyId, key);
+        } else if (properties.getKeySet() != null) {
+            signingKey = loadKeySet(properties.getKeySet(), verificationKeys, publicJwks);
+        } else {
+            signingKey = generateEphemeralKey(algorithm, verificationKeys, publicJwks);
+        }
+        
+        // Tokens issued before kid headers were introduced are verified with the shared secret.
+        // HS256 trusts that secret anyway; with RS256/EdDSA it is an explicit, time-boxed opt-in,
+        // otherwise anyone holding jwt.secret could mint tokens without a kid.
+        Key legacyKey = null;
+        Instant legacyUntil = null;
+        if (hmac) {
+            legacyKey = signingKey.key();
+        } else if (properties.getLegacyTokensUntil() != null) {
+            if (!StringUtils.hasText(properties.getSecret())) {
+                throw new IllegalStateException("jwt.legacy-tokens-until requires jwt.secret");
+            }
+            legacyKey = hmacKey();
+            legacyUntil = properties.getLegacyTokensUntil();
+            log.warn("Accepting HS256 tokens without a 'kid' until {}", legacyUntil);
+        }
+        JwtParser parser = Jwts.parser()
+                .keyLocator(new KeyIdLocator(Map.copyOf(verificationKeys), legacyKey, legacyUntil))
+                .build();
+        return new KeySnapshot(signingKey, parser, List.copyOf(publicJwks));
+    }
+    
+    private SigningKey loadKeySet(Resource resource, Map<String, Key> verificationKeys, List<PublicJwk<?>> publicJwks) {
+        JwkSet jwkSet;
+        try (InputStream in = resource.getInputStream()) {
+            jwkSet = Jwks.setParser().build().parse(StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+            keySetLastModified = lastModified(resource);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key set " + resource.getDescription(), e);
+        }
+        
+        String activeKeyId = properties.getActiveKeyId();
+        SigningKey signingKey = null;
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            String keyId = jwk.getId();
+            if (!StringUtils.hasText(keyId)) {
+                throw new IllegalStateException("Every key in the JWT key set needs a 'kid'");
+            }
+            PublicJwk<?> publicJwk;
+            if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+                publicJwk = privateJwk.toPublicJwk();
+                if (signingKey == null && (!StringUtils.hasText(activeKeyId) || activeKeyId.equals(keyId))) {
+                    signingKey = new SigningKey(keyId, privateJwk.toKey());
+                }
+            } else if (jwk instanceof PublicJwk<?> verifyOnly) {
+                publicJwk = verifyOnly;
+            } else {
+                log.warn("Ignoring non-asymmetric key '{}' in JWT key set", keyId);
+                continue;
+            }
+            verificationKeys.put(keyId, publicJwk.toKey());
+            publicJwks.add(publicJwk);
+        }
+        
+        if (signingKey == null) {
+            log.warn("JWT key set has no private key{} - running in verify-only mode",
+                    StringUtils.hasText(activeKeyId) ? " with kid '" + activeKeyId + "'" : "");
+        }
+        log.info("Loaded {} JWT verification key(s) {}", verificationKeys.size(), verificationKeys.keySet());
+        return signingKey;
+    }
+    
+    private SigningKey generateEphemeralKey(String algorithm, Map<String, Key> verificationKeys,
+                                            List<PublicJwk<?>> publicJwks) {
+        KeyPair keyPair = "EdDSA".equalsIgnoreCase(algorithm)
+                ? Jwts.SIG.EdDSA.keyPair().build()
+                : Jwts.SIG.RS256.keyPair().build();
+        String keyId = StringUtils.hasText(properties.getActiveKeyId())
+                ? properties.getActiveKeyId()
+                : "ephemeral-" + UUID.randomUUID();
+        log.warn("No jwt.key-set configured - generated an ephemeral {} key '{}'; tokens will not survive a restart",
+                algorithm, keyId);
+        
+        verificationKeys.put(keyId, keyPair.getPublic());
+        publicJwks.add(Jwks.builder().key(keyPair.getPublic()).id(keyId).build());
+        return new SigningKey(keyId, keyPair.getPrivate());
+    }
+    
+    private Key hmacKey() {
+        return Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    /**
+     * Resolves the verification key from the token's "kid" header - a map lookup, nothing more
+     */
+    private static final class KeyIdLocator extends LocatorAdapter<Key> {
+        
+        private final Map<String, Key> keys;
+        private final Key legacyKey;
+        private final Instant legacyUntil;
+        
+        KeyIdLocator(Map<String, Key> keys, Key legacyKey, Instant legacyUntil) {
+            this.keys = keys;
+            this.legacyKey = legacyKey;
+            this.legacyUntil = legacyUntil;
+        }
+        
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                if (legacyKey == null || (legacyUntil != null && Instant.now().isAfter(legacyUntil))) {
+                    throw new UnsupportedJwtException("JWT without 'kid' is not accepted");
+                }
+                return legacyKey;
+            }
+            Key key = keys.get(keyId);
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown JWT signing key: " + keyId);
+            }
+            return key;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.reactiveproductservice.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JWT configuration (prefix: jwt)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+    
+    // HS256 (shared secret), RS256 or EdDSA
+    private String algorithm = "HS256";
+    
+    // HMAC secret - signing key for HS256; with RS256/EdDSA only used for legacy tokens (see below)
+    private String secret;
+    
+    // RS256/EdDSA: accept HS256 tokens without a "kid" (signed with jwt.secret) until this instant.
+    // Unset = never; set it only while migrating from HS256, to the last legacy token's expiry.
+    private Instant legacyTokensUntil;
+    
+    // Access token lifetime in milliseconds
+    private Long expiration = 900000L;
+    
+    // Refresh token lifetime in milliseconds
+    private Long refreshExpiration = 1209600000L;
+    
+    // JWKS-style key set (RS256/EdDSA). Keys with private material can sign, public keys only verify.
+    private Resource keySet;
+    
+    // Signing key id; defaults to the first private key in the key set
+    private String activeKeyId;
+    
+    // How often the key set is checked for changes (key rotation)
+    private Duration keySetRefreshInterval = Duration.ofMinutes(5);
+}
@@ -1,44 +1,59 @@
 package com.example.reactiveproductservice.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Issues and verifies JWTs
+ * 
+ * Tokens carry a "kid" header; verification resolves the key through the
+ * pre-built parser in JwtKeyStore (HS256, RS256 or EdDSA).
+ * 
+ * Refresh tokens are JWTs too (token_type=refresh, unique jti), so their signature and
+ * expiry can be checked without a database read. They are never accepted as access tokens.
+ */
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
     
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtProperties properties;
+    private final JwtKeyStore keyStore;
     
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public String generateToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, username, properties.getExpiration());
     }
     
-    public String generateToken(String username) {
+    public String generateRefreshToken(String username) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        return createToken(claims, username, properties.getRefreshExpiration());
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long lifetimeMillis) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + expiration);
+        Date expiryDate = new Date(now.getTime() + lifetimeMillis);
+        JwtKeyStore.SigningKey signingKey = keyStore.getSigningKey();
         
         return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey.key())
                 .compact();
     }
     
@@ -50,10 +65,38 @@ public class JwtUtil {
         return getAllClaimsFromToken(token).getExpiration();
     }
     
+    /**
+     * Verify an access token once and return its subject, or null if the token is invalid or expired
+     */
+    public String getUsernameIfValid(String token) {
+        Claims claims = getClaimsIfValid(token);
+        if (claims == null || REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return null;
+        }
+        return claims.getSubject();
+    }
+    
+    /**
+     * Verify a refresh token (signature, expiry, type) and return its subject, or null if invalid
+     */
+    public String getRefreshTokenSubject(String token) {
+        Claims claims = getClaimsIfValid(token);
+        if (claims == null || !REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return null;
+        }
+        return claims.getSubject();
+    }
+    
+    private Claims getClaimsIfValid(String token) {
+        try {
+            return getAllClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return keyStore.getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,121 @@
+package com.example.reactiveproductservice.security;
+
+import com.example.reactiveproductservice.model.RefreshToken;
+import com.example.reactiveproductservice.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Refresh Token Service
+ * 
+ * Refresh tokens are signed JWTs; only their SHA-256 hash is stored.
+ * 1. signature, expiry and token type are verified locally, so forged, expired or access
+ *    tokens are rejected without touching the database
+ * 2. a valid token is rotated with an atomic "revoke if not revoked" UPDATE - 0 rows means
+ *    it was already used (on any instance) - and the new token's hash is INSERTed
+ * 
+ * A successful refresh therefore costs two statements and no read. Presenting an
+ * already-used refresh token is treated as theft: all of the user's refresh tokens are revoked.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+    
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final JwtProperties jwtProperties;
+    
+    public record RotatedToken(String username, String refreshToken) {
+    }
+    
+    public enum RevokeResult {
+        REVOKED,
+        ALREADY_REVOKED,
+        INVALID
+    }
+    
+    /**
+     * Issue and store a new refresh token
+     */
+    public Mono<String> issue(String username) {
+        String token = jwtUtil.generateRefreshToken(username);
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken(
+                null,
+                hash(token),
+                username,
+                now.plusNanos(jwtProperties.getRefreshExpiration() * 1_000_000),
+                false,
+                now
+        );
+        return refreshTokenRepository.save(refreshToken).thenReturn(token);
+    }
+    
+    /**
+     * Validate and rotate a refresh token
+     * Returns the user and a new refresh token, or empty if the token is invalid, revoked or reused
+     */
+    public Mono<RotatedToken> rotate(String token) {
+        String username = token != null ? jwtUtil.getRefreshTokenSubject(token) : null;
+        if (username == null) {
+            return Mono.empty();
+        }
+        return refreshTokenRepository.revoke(hash(token))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        // Already rotated (possibly on another instance) or unknown
+                        return onReuse(username);
+                    }
+                    return issue(username).map(newToken -> new RotatedToken(username, newToken));
+                });
+    }
+    
+    /**
+     * Revoke a refresh token (logout)
+     */
+    public Mono<RevokeResult> revoke(String token) {
+        if (token == null || jwtUtil.getRefreshTokenSubject(token) == null) {
+            return Mono.just(RevokeResult.INVALID);
+        }
+        return refreshTokenRepository.revoke(hash(token))
+                .map(updated -> updated > 0 ? RevokeResult.REVOKED : RevokeResult.ALREADY_REVOKED);
+    }
+    
+    /**
+     * Drop expired tokens - they fail local validation anyway
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval:PT10M}",
+               initialDelayString = "${jwt.refresh-cleanup-interval:PT10M}")
+    public void deleteExpiredTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now())
+                .subscribe(
+                        count -> log.info("Deleted {} expired refresh token(s)", count),
+                        e -> log.error("Failed to delete expired refresh tokens: {}", e.getMessage())
+                );
+    }
+    
+    private Mono<RotatedToken> onReuse(String username) {
+        log.warn("Refresh token reuse detected for user: {} - revoking all refresh tokens", username);
+        return refreshTokenRepository.revokeAllForUser(username)
+                .then(Mono.empty());
+    }
+    
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.reactiveproductservice.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * Authorization manager backed by the precompiled RouteAuthorizationTable
+ * 
+ * Replaces the per-request walk over the pathMatchers list in SecurityConfig
+ * with a single trie lookup (usually already cached by the JWT filter).
+ */
+@RequiredArgsConstructor
+public class RouteAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+    
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    
+    private final RouteAuthorizationTable authorizationTable;
+    
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        AccessRule rule = authorizationTable.resolve(context.getExchange());
+        if (rule.isPublic()) {
+            return GRANTED;
+        }
+        return authentication
+                .map(auth -> rule.isGranted(auth) ? new AuthorizationDecision(true) : DENIED)
+                .defaultIfEmpty(DENIED);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.reactiveproductservice.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled Authorization Table
+ * 
+ * Method + path-pattern rules compiled once into a segment trie. A lookup walks the
+ * request path a segment at a time without allocating, instead of evaluating a list of
+ * path matchers on every request.
+ * 
+ * Segments are compared the way WebFlux routing sees them (PathSegment.valueToMatch():
+ * percent-decoded, matrix parameters removed), so "/api/%70roducts/42" or
+ * "/api/products;x=1/42" resolve to the same rule as the handler they dispatch to.
+ * 
+ * Pattern syntax: literal segments, "*" (exactly one segment) and a trailing "**"
+ * (zero or more segments). Literal segments win over "*", which wins over "**";
+ * at the same node a method-specific rule wins over an any-method rule.
+ * 
+ * The resolved rule is cached on the exchange so the JWT filter and the
+ * authorization manager share a single lookup.
+ */
+public final class RouteAuthorizationTable {
+    
+    private static final String RULE_ATTRIBUTE = RouteAuthorizationTable.class.getName() + ".RULE";
+    
+    private final Node root;
+    private final AccessRule defaultRule;
+    
+    private RouteAuthorizationTable(Node root, AccessRule defaultRule) {
+        this.root = root;
+        this.defaultRule = defaultRule;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Resolve (and cache on the exchange) the rule for a request
+     */
+    public AccessRule resolve(ServerWebExchange exchange) {
+        AccessRule cached = exchange.getAttribute(RULE_ATTRIBUTE);
+        if (cached != null) {
+            return cached;
+        }
+        AccessRule rule = lookup(exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath().pathWithinApplication());
+        exchange.getAttributes().put(RULE_ATTRIBUTE, rule);
+        return rule;
+    }
+    
+    public AccessRule lookup(HttpMethod method, String path) {
+        return lookup(method, PathContainer.parsePath(path));
+    }
+    
+    public AccessRule lookup(HttpMethod method, PathContainer path) {
+        List<PathContainer.Element> elements = path.elements();
+        AccessRule rule = match(root, method, elements, nextSegment(elements, 0));
+        return rule != null ? rule : defaultRule;
+    }
+    
+    private static AccessRule match(Node node, HttpMethod method, List<PathContainer.Element> elements, int index) {
+        if (index >= elements.size()) {
+            AccessRule exact = node.ruleFor(method);
+            if (exact != null) {
+                return exact;
+            }
+            return node.doubleWildcard != null ? node.doubleWildcard.ruleFor(method) : null;
+        }
+        
+        String segment = ((PathContainer.PathSegment) elements.get(index)).valueToMatch();
+        int next = nextSegment(elements, index + 1);
+        
+        Node literal = node.literalChild(segment);
+        if (literal != null) {
+            AccessRule rule = match(literal, method, elements, next);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.wildcard != null) {
+            AccessRule rule = match(node.wildcard, method, elements, next);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.doubleWildcard != null ? node.doubleWildcard.ruleFor(method) : null;
+    }
+    
+    /**
+     * Index of the next non-empty segment, skipping separators (and the empty segment of "//")
+     */
+    private static int nextSegment(List<PathContainer.Element> elements, int index) {
+        while (index < elements.size()
+                && !(elements.get(index) instanceof PathContainer.PathSegment segment && !segment.valueToMatch().isEmpty())) {
+            index++;
+        }
+        return index;
+    }
+    
+    private static final class Node {
+        
+        private String[] literalSegments = new String[0];
+        private Node[] literalNodes = new Node[0];
+        private Node wildcard;
+        private Node doubleWildcard;
+        private Map<HttpMethod, AccessRule> methodRules = Map.of();
+        private AccessRule anyMethodRule;
+        
+        Node literalChild(String segment) {
+            for (int i = 0; i < literalSegments.length; i++) {
+                if (literalSegments[i].equals(segment)) {
+                    return literalNodes[i];
+                }
+            }
+            return null;
+        }
+        
+        AccessRule ruleFor(HttpMethod method) {
+            AccessRule rule = methodRules.get(method);
+            return rule != null ? rule : anyMethodRule;
+        }
+        
+        Node child(String segment) {
+            if ("**".equals(segment)) {
+                if (doubleWildcard == null) {
+                    doubleWildcard = new Node();
+                }
+                return doubleWildcard;
+            }
+            if ("*".equals(segment) || segment.startsWith("{")) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            for (int i = 0; i < literalSegments.length; i++) {
+                if (literalSegments[i].equals(segment)) {
+                    return literalNodes[i];
+                }
+            }
+            Node node = new Node();
+            int size = literalSegments.length;
+            String[] segments = new String[size + 1];
+            Node[] nodes = new Node[size + 1];
+            System.arraycopy(literalSegments, 0, segments, 0, size);
+            System.arraycopy(literalNodes, 0, nodes, 0, size);
+            segments[size] = segment;
+            nodes[size] = node;
+            literalSegments = segments;
+            literalNodes = nodes;
+            return node;
+        }
+        
+        void addRule(HttpMethod method, AccessRule rule, String pattern) {
+            if (method == null) {
+                if (anyMethodRule != null) {
+                    throw new IllegalStateException("Duplicate authorization rule for " + pattern);
+                }
+                anyMethodRule = rule;
+                return;
+            }
+            if (methodRules.containsKey(method)) {
+                throw new IllegalStateException("Duplicate authorization rule for " + method + " " + pattern);
+            }
+            Map<HttpMethod, AccessRule> rules = new HashMap<>(methodRules);
+            rules.put(method, rule);
+            methodRules = Map.copyOf(rules);
+        }
+    }
+    
+    public static final class Builder {
+        
+        private final Node root = new Node();
+        private AccessRule defaultRule = AccessRule.authenticated();
+        
+        private Builder() {
+        }
+        
+        /**
+         * Rule for any HTTP method
+         */
+        public Builder route(String pattern, AccessRule rule) {
+            return route(null, pattern, rule);
+        }
+        
+        public Builder route(HttpMethod method, String pattern, AccessRule rule) {
+            Node node = root;
+            String[] segments = pattern.split("/");
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if ("**".equals(segment) && i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported at the end of a pattern: " + pattern);
+                }
+                node = node.child(segment);
+            }
+            node.addRule(method, rule, pattern);
+            return this;
+        }
+        
+        /**
+         * Rule for requests no route matches
+         */
+        public Builder anyExchange(AccessRule rule) {
+            this.defaultRule = rule;
+            return this;
+        }
+        
+        public RouteAuthorizationTable build() {
+            return new RouteAuthorizationTable(root, defaultRule);
+        }
+    }
+}
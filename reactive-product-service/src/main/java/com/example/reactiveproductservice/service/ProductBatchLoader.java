@@ -0,0 +1,155 @@
+package com.example.reactiveproductservice.service;
+
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
+import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataLoader-style micro-batching for product lookups by id
+ * 
+ * Concurrent getProductById calls arriving within a short window are collected and
+ * resolved with a single "WHERE id = ANY(...)" query. Callers asking for the same id
+ * share one result. A batch is flushed when the window elapses or it reaches max size;
+ * a batch of one falls back to a plain findById.
+ * 
+ * The batch query runs in the Reactor context of the caller that opened the batch, so its
+ * trace parent and request query stats apply: the statement span and the round trip are
+ * attributed to that request. Dropped on purpose, since the query serves every caller in
+ * the batch: the security context and the read-your-writes client key (the query always
+ * reads from the replica; sticky clients bypass the loader).
+ */
+@Component
+@Slf4j
+public class ProductBatchLoader {
+    
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final long windowMicros;
+    private final int maxBatchSize;
+    private final Scheduler scheduler = Schedulers.parallel();
+    
+    private final Object lock = new Object();
+    private Batch pending = new Batch(Context.empty());
+    
+    public ProductBatchLoader(ProductRepository productRepository,
+                              @Value("${product.batch.loader-enabled:true}") boolean enabled,
+                              @Value("${product.batch.window-micros:2000}") long windowMicros,
+                              @Value("${product.batch.max-size:100}") int maxBatchSize) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+    }
+    
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+    
+    public Mono<Product> load(Long id) {
+        if (!enabled) {
+            // Callers only come here when not sticky - same replica read as a batch
+            return ReadWriteRouting.onReplica(productRepository.findById(id).flux()).next();
+        }
+        return Mono.deferContextual(callerContext -> {
+            Sinks.One<Product> sink;
+            Batch fullBatch = null;
+            boolean firstInBatch = false;
+            
+            synchronized (lock) {
+                sink = pending.sinks.get(id);
+                if (sink == null) {
+                    if (pending.sinks.isEmpty()) {
+                        pending = new Batch(batchContext(callerContext));
+                        firstInBatch = true;
+                    }
+                    sink = Sinks.one();
+                    pending.sinks.put(id, sink);
+                    if (pending.sinks.size() >= maxBatchSize) {
+                        fullBatch = pending;
+                        pending = new Batch(Context.empty());
+                    }
+                }
+            }
+            
+            if (fullBatch != null) {
+                dispatch(fullBatch);
+            } else if (firstInBatch) {
+                scheduler.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+            }
+            return sink.asMono();
+        });
+    }
+    
+    private void flush() {
+        Batch batch;
+        synchronized (lock) {
+            if (pending.sinks.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new Batch(Context.empty());
+        }
+        dispatch(batch);
+    }
+    
+    private void dispatch(Batch batch) {
+        Map<Long, Sinks.One<Product>> sinks = batch.sinks;
+        Flux<Product> query;
+        if (sinks.size() == 1) {
+            query = productRepository.findById(sinks.keySet().iterator().next()).flux();
+        } else {
+            log.debug("Resolving {} product lookups with one query", sinks.size());
+            query = productRepository.findByIdIn(sinks.keySet().toArray(Long[]::new));
+        }
+        
+        // A batch may mix clients - always a replica read
+        ReadWriteRouting.onReplica(query)
+                .collectMap(Product::getId)
+                .contextWrite(batch.context)
+                .subscribe(
+                        found -> sinks.forEach((id, sink) -> {
+                            Product product = found.get(id);
+                            if (product != null) {
+                                sink.tryEmitValue(product);
+                            } else {
+                                sink.tryEmitEmpty();
+                            }
+                        }),
+                        error -> sinks.values().forEach(sink -> sink.tryEmitError(error))
+                );
+    }
+    
+    /**
+     * The opening caller's context without the keys that belong to that caller alone
+     */
+    private static Context batchContext(ContextView callerContext) {
+        return ReactiveSecurityContextHolder.clearContext()
+                .apply(Context.of(callerContext))
+                .delete(ReadWriteRouting.CLIENT_KEY);
+    }
+    
+    private static final class Batch {
+        
+        private final Map<Long, Sinks.One<Product>> sinks = new HashMap<>();
+        private final Context context;
+        
+        private Batch(Context context) {
+            this.context = context;
+        }
+    }
+}
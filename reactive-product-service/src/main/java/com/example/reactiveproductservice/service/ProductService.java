@@ -1,15 +1,43 @@
 package com.example.reactiveproductservice.service;
 
+import com.example.reactiveproductservice.cache.CatalogVersion;
+import com.example.reactiveproductservice.cache.ProductCache;
+import com.example.reactiveproductservice.cache.SearchResultCache;
+import com.example.reactiveproductservice.catalog.CatalogSnapshot;
+import com.example.reactiveproductservice.catalog.CatalogStatistics;
+import com.example.reactiveproductservice.catalog.ColumnarCatalog;
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
+import com.example.reactiveproductservice.dto.BatchGetResponse;
+import com.example.reactiveproductservice.dto.ProductFields;
 import com.example.reactiveproductservice.dto.ProductRequest;
+import com.example.reactiveproductservice.dto.ProductStatsResponse;
+import com.example.reactiveproductservice.exception.NotFoundException;
 import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter;
 import com.example.reactiveproductservice.repository.ProductRepository;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.observability.micrometer.Micrometer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import static com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter.Priority.HIGH;
+import static com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter.Priority.LOW;
 
 @Service
 @RequiredArgsConstructor
@@ -17,30 +45,109 @@ import java.time.LocalDateTime;
 public class ProductService {
     
     private final ProductRepository productRepository;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ProductBatchLoader batchLoader;
+    private final ColumnarCatalog catalog;
+    private final CatalogStatistics statistics;
+    private final CatalogVersion catalogVersion;
+    private final ProductCache productCache;
+    private final SearchResultCache searchCache;
+    private final ReadWriteRouting routing;
+    private final ObservationRegistry observationRegistry;
     
     /**
      * Get all products - returns Flux (0 to N items)
      */
     public Flux<Product> getAllProducts() {
         log.info("Fetching all products");
-        return productRepository.findAll()
+        return observed("product.list", concurrencyLimiter.limit(LOW, routing.read(productRepository.findAll()))
                 .doOnNext(product -> log.debug("Found product: {}", product.getName()))
-                .doOnComplete(() -> log.info("Finished fetching all products"));
+                .doOnComplete(() -> log.info("Finished fetching all products")));
+    }
+    
+    /**
+     * Get all products, reading only the requested columns
+     */
+    public Flux<Product> getAllProducts(ProductFields fields) {
+        if (fields.isAll()) {
+            return getAllProducts();
+        }
+        log.info("Fetching all products with columns: {}", fields.getColumns());
+        return observed("product.list", concurrencyLimiter.limit(LOW, routing.read(productRepository.findAllProjected(fields))));
     }
     
     /**
      * Get product by ID - returns Mono (0 or 1 item)
+     * Concurrent lookups are micro-batched into a single query by ProductBatchLoader
      */
     public Mono<Product> getProductById(Long id) {
         log.info("Fetching product with id: {}", id);
-        return productRepository.findById(id)
+        return observed("product.get", Mono.deferContextual(context -> {
+                    Product cached = productCache.get(id);
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+                    long version = catalogVersion.current();
+                    // Batches run on the replica; a client that just wrote reads its own row from the primary
+                    Mono<Product> lookup = routing.isSticky(context)
+                            ? routing.read(productRepository.findById(id))
+                            : batchLoader.load(id);
+                    return concurrencyLimiter.limit(HIGH, lookup)
+                            .doOnNext(product -> productCache.putIfCurrent(List.of(product), version));
+                })
                 .doOnSuccess(product -> {
                     if (product != null) {
                         log.info("Found product: {}", product.getName());
                     } else {
                         log.warn("Product not found with id: {}", id);
                     }
-                });
+                }));
+    }
+    
+    /**
+     * Get several products by ID with one query
+     * Products come back in request order (duplicates removed); unknown ids are reported as missing
+     */
+    public Mono<BatchGetResponse> getProductsByIds(List<Long> ids) {
+        return getProductsByIds(ids, ProductFields.all());
+    }
+    
+    /**
+     * Batch get, reading only the requested columns (the id column is always read to match results)
+     */
+    public Mono<BatchGetResponse> getProductsByIds(List<Long> ids, ProductFields fields) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.size() > batchLoader.getMaxBatchSize()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + batchLoader.getMaxBatchSize() + " ids per request"));
+        }
+        if (distinctIds.isEmpty()) {
+            return Mono.just(new BatchGetResponse(List.of(), List.of()));
+        }
+        
+        log.info("Fetching {} products by id", distinctIds.size());
+        Flux<Product> products = fields.isAll()
+                ? productRepository.findByIdIn(distinctIds.toArray(Long[]::new))
+                : productRepository.findByIdInProjected(distinctIds, fields.withId());
+        return observed("product.get.batch", concurrencyLimiter.limit(HIGH, routing.read(products.collectMap(Product::getId)))
+                .map(found -> toBatchResponse(distinctIds, found)));
+    }
+    
+    private BatchGetResponse toBatchResponse(List<Long> ids, Map<Long, Product> found) {
+        List<Product> products = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchGetResponse(products, missingIds);
     }
     
     /**
@@ -57,8 +164,12 @@ public class ProductService {
         product.setCreatedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
         
-        return productRepository.save(product)
-                .doOnSuccess(saved -> log.info("Product created with id: {}", saved.getId()));
+        return observed("product.create", concurrencyLimiter.limit(HIGH, statistics.tracked(routing.write(productRepository.save(product))
+                        .doOnNext(saved -> {
+                            onSaved(saved);
+                            statistics.onCreated(saved);
+                        })))
+                .doOnSuccess(saved -> log.info("Product created with id: {}", saved.getId())));
     }
     
     /**
@@ -67,17 +178,23 @@ public class ProductService {
     public Mono<Product> updateProduct(Long id, ProductRequest request) {
         log.info("Updating product with id: {}", id);
         
-        return productRepository.findById(id)
+        return observed("product.update", concurrencyLimiter.limit(HIGH, statistics.tracked(routing.write(productRepository.findById(id)
                 .flatMap(existingProduct -> {
+                    BigDecimal previousPrice = existingProduct.getPrice();
+                    Integer previousQuantity = existingProduct.getQuantity();
                     existingProduct.setName(request.getName());
                     existingProduct.setDescription(request.getDescription());
                     existingProduct.setPrice(request.getPrice());
                     existingProduct.setQuantity(request.getQuantity());
                     existingProduct.setUpdatedAt(LocalDateTime.now());
-                    return productRepository.save(existingProduct);
-                })
-                .doOnSuccess(updated -> log.info("Product updated: {}", updated.getName()))
-                .switchIfEmpty(Mono.error(new RuntimeException("Product not found with id: " + id)));
+                    return productRepository.save(existingProduct)
+                            .doOnNext(saved -> {
+                                onSaved(saved);
+                                statistics.onUpdated(previousPrice, previousQuantity, saved);
+                            });
+                }))))
+                .switchIfEmpty(Mono.error(NotFoundException.PRODUCT))
+                .doOnNext(updated -> log.info("Product updated: {}", updated.getName())));
     }
     
     /**
@@ -86,10 +203,36 @@ public class ProductService {
     public Mono<Void> deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
         
-        return productRepository.findById(id)
+        return observed("product.delete", concurrencyLimiter.limit(HIGH, statistics.tracked(routing.write(productRepository.findById(id)
                 .flatMap(product -> productRepository.delete(product)
-                        .doOnSuccess(v -> log.info("Product deleted: {}", product.getName())))
-                .switchIfEmpty(Mono.error(new RuntimeException("Product not found with id: " + id)));
+                        .doOnSuccess(v -> {
+                            onDeleted(product.getId());
+                            statistics.onDeleted(product);
+                            log.info("Product deleted: {}", product.getName());
+                        })
+                        // delete() completes empty - emit the product so only a miss is a 404
+                        .thenReturn(product)))))
+                .switchIfEmpty(Mono.error(NotFoundException.PRODUCT))
+                .then());
+    }
+    
+    private void onSaved(Product saved) {
+        catalogVersion.bump();
+        productCache.put(saved);
+        catalog.apply(saved);
+    }
+    
+    private void onDeleted(Long id) {
+        catalogVersion.bump();
+        productCache.evict(id);
+        catalog.remove(id);
+    }
+    
+    /**
+     * Inventory statistics - maintained incrementally, no table scan
+     */
+    public Mono<ProductStatsResponse> getStats() {
+        return Mono.fromSupplier(statistics::snapshot);
     }
     
     /**
@@ -97,14 +240,145 @@ public class ProductService {
      */
     public Flux<Product> searchProductsByName(String name) {
         log.info("Searching products with name containing: {}", name);
-        return productRepository.findByNameContainingIgnoreCase(name);
+        return observed("product.search", cachedQuery(SearchResultCache.nameKey(name),
+                () -> concurrencyLimiter.limit(LOW, routing.read(productRepository.findByNameContainingIgnoreCase(name)))));
+    }
+    
+    /**
+     * Search products by name, reading only the requested columns
+     */
+    public Flux<Product> searchProductsByName(String name, ProductFields fields) {
+        if (fields.isAll()) {
+            return searchProductsByName(name);
+        }
+        log.info("Searching products with name containing: {} (columns: {})", name, fields.getColumns());
+        return observed("product.search", concurrencyLimiter.limit(LOW,
+                routing.read(productRepository.findByNameContainingIgnoreCaseProjected(name, fields))));
     }
     
     /**
      * Get products under certain price
+     * Served from the columnar catalog (cheapest first) when it is loaded
      */
-    public Flux<Product> getProductsUnderPrice(java.math.BigDecimal price) {
+    public Flux<Product> getProductsUnderPrice(BigDecimal price) {
         log.info("Fetching products under price: {}", price);
-        return productRepository.findByPriceLessThan(price);
+        return observed("product.price.below", Flux.defer(() -> {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            if (snapshot != null) {
+                return Flux.fromIterable(snapshot.findByPriceLessThan(price));
+            }
+            return cachedQuery(SearchResultCache.priceBelowKey(price),
+                    () -> concurrencyLimiter.limit(LOW, routing.read(productRepository.findByPriceLessThan(price))));
+        }));
+    }
+    
+    /**
+     * Get products under certain price, reading only the requested columns
+     */
+    public Flux<Product> getProductsUnderPrice(BigDecimal price, ProductFields fields) {
+        if (fields.isAll() || catalog.isReady()) {
+            return getProductsUnderPrice(price);
+        }
+        log.info("Fetching products under price: {} (columns: {})", price, fields.getColumns());
+        return observed("product.price.below", concurrencyLimiter.limit(LOW,
+                routing.read(productRepository.findByPriceLessThanProjected(price, fields))));
+    }
+    
+    /**
+     * Products in a price range (null bound = open), sorted by price, at most limit rows
+     * Served from the columnar catalog when it is loaded
+     */
+    public Flux<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                 boolean descending, int limit) {
+        if (limit < 1 || limit > catalog.getMaxResults()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + catalog.getMaxResults()));
+        }
+        log.info("Fetching products priced {} - {} ({} first, limit {})",
+                minPrice, maxPrice, descending ? "highest" : "lowest", limit);
+        return observed("product.price.range", Flux.defer(() -> {
+            CatalogSnapshot snapshot = catalog.snapshot();
+            if (snapshot != null) {
+                return Flux.fromIterable(snapshot.findByPriceBetween(minPrice, maxPrice, descending, limit));
+            }
+            if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+                return Flux.empty();
+            }
+            Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            PageRequest page = PageRequest.of(0, limit, Sort.by(direction, "price").and(Sort.by("id")));
+            BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+            return concurrencyLimiter.limit(LOW, routing.read(maxPrice != null
+                    ? productRepository.findByPriceBetween(min, maxPrice, page)
+                    : productRepository.findByPriceGreaterThanEqual(min, page)));
+        }));
+    }
+    
+    /**
+     * Span + timer per service call; nests under the HTTP request and above the R2DBC statements
+     */
+    private <T> Mono<T> observed(String name, Mono<T> operation) {
+        return operation.name(name).tap(Micrometer.observation(observationRegistry));
+    }
+    
+    private <T> Flux<T> observed(String name, Flux<T> operation) {
+        return operation.name(name).tap(Micrometer.observation(observationRegistry));
+    }
+    
+    /**
+     * Serve a query from the search result cache (ids rehydrated from the product cache, then
+     * one multi-get for the rest), or run it and cache the ids read at the current catalog version
+     */
+    private Flux<Product> cachedQuery(String key, Supplier<Flux<Product>> query) {
+        if (!searchCache.isEnabled()) {
+            return query.get();
+        }
+        return Flux.defer(() -> {
+            long version = catalogVersion.current();
+            long[] ids = searchCache.get(key, version);
+            if (ids != null) {
+                return rehydrate(ids, version);
+            }
+            List<Product> results = new ArrayList<>();
+            return query.get()
+                    .doOnNext(product -> {
+                        if (results.size() <= searchCache.getMaxIdsPerEntry()) {
+                            results.add(product);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (results.size() <= searchCache.getMaxIdsPerEntry()) {
+                            searchCache.put(key, version, results.stream().mapToLong(Product::getId).toArray());
+                            productCache.putIfCurrent(results, version);
+                        }
+                    });
+        });
+    }
+    
+    private Flux<Product> rehydrate(long[] ids, long version) {
+        Map<Long, Product> cached = productCache.getAll(ids);
+        if (cached.size() == ids.length) {
+            return Flux.fromIterable(inOrder(ids, cached));
+        }
+        Long[] missing = Arrays.stream(ids)
+                .filter(id -> !cached.containsKey(id))
+                .boxed()
+                .toArray(Long[]::new);
+        return concurrencyLimiter.limit(LOW, routing.read(productRepository.findByIdIn(missing).collectList()))
+                .flatMapIterable(loaded -> {
+                    productCache.putIfCurrent(loaded, version);
+                    loaded.forEach(product -> cached.put(product.getId(), product));
+                    return inOrder(ids, cached);
+                });
+    }
+    
+    private static List<Product> inOrder(long[] ids, Map<Long, Product> products) {
+        List<Product> ordered = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                ordered.add(product);
+            }
+        }
+        return ordered;
     }
 }
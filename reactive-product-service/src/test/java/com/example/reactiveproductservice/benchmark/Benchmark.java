@@ -0,0 +1,41 @@
+package com.example.reactiveproductservice.benchmark;
+
+import java.util.function.Supplier;
+
+/**
+ * Minimal micro-benchmark harness for the benchmark test group
+ * 
+ * Run with: mvn test -Pbenchmark
+ * Numbers are indicative only (single fork, no JMH safeguards) - compare runs on the same machine.
+ */
+final class Benchmark {
+
+    private static volatile Object sink;
+
+    private Benchmark() {
+    }
+
+    /**
+     * Runs the operation in warmup and measurement rounds, prints and returns ns/op
+     */
+    static double run(String name, int iterations, Supplier<?> operation) {
+        for (int round = 0; round < 5; round++) {
+            loop(iterations, operation);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            best = Math.min(best, loop(iterations, operation));
+        }
+        double nanosPerOp = (double) best / iterations;
+        System.out.printf("%-60s %12.1f ns/op%n", name, nanosPerOp);
+        return nanosPerOp;
+    }
+
+    private static long loop(int iterations, Supplier<?> operation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = operation.get();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.reactiveproductservice.benchmark;
+
+import com.example.reactiveproductservice.ReactiveProductServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * getProductById fan-out from a single client: HTTP/1.1 over a bounded connection pool vs
+ * HTTP/1.1 with a connection per in-flight request vs h2c multiplexed on one connection
+ *
+ * Runs the application itself with server.http2.enabled=true on an in-memory H2 database,
+ * so every request goes through NettyConfig's server settings, the rate limit and security
+ * filters (JWT validation, route authorization) and ProductService.getProductById. After the
+ * first round lookups are served by the product cache, as hot products are in production.
+ */
+@Tag("benchmark")
+class Http2FanOutBenchmark {
+
+    private static final int PRODUCTS = 100;
+    private static final int FAN_OUT = 100;
+    private static final int ITERATIONS = 20;
+
+    private ConfigurableApplicationContext application;
+    private int port;
+    private String token;
+
+    @BeforeEach
+    void startApplication() {
+        // Command line arguments, so they take precedence over application.properties
+        application = new SpringApplicationBuilder(ReactiveProductServiceApplication.class).run(
+                "--server.port=0",
+                "--server.http2.enabled=true",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///http2-fan-out-" + System.nanoTime()
+                        + "?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.sql.init.mode=always",
+                // One client sends every request - keep the limits from shedding the fan-out
+                "--rate-limit.requests-per-second=1000000",
+                "--rate-limit.burst=1000000",
+                "--rate-limit.concurrency[/api/products]=" + 10 * FAN_OUT);
+        port = application.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        seedProducts(application.getBean(DatabaseClient.class));
+        token = login();
+    }
+
+    @AfterEach
+    void stopApplication() {
+        application.close();
+    }
+
+    @Test
+    void http11VersusHttp2() {
+        fanOut("HTTP/1.1, 6 connections", HttpProtocol.HTTP11, 6);
+        fanOut("HTTP/1.1, " + FAN_OUT + " connections", HttpProtocol.HTTP11, FAN_OUT);
+        fanOut("h2c, 1 connection", HttpProtocol.H2C, 1);
+    }
+
+    private void fanOut(String name, HttpProtocol protocol, int maxConnections) {
+        ConnectionProvider connections = ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        AtomicInteger openedConnections = new AtomicInteger();
+        HttpClient client = HttpClient.create(connections)
+                .protocol(protocol)
+                .baseUrl("http://localhost:" + port)
+                .headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token))
+                .doOnChannelInit((observer, channel, remoteAddress) -> openedConnections.incrementAndGet());
+        try {
+            Benchmark.run(name + " - " + FAN_OUT + " lookups", ITERATIONS, () -> {
+                long failed = Flux.range(0, FAN_OUT)
+                        .flatMap(i -> client.get()
+                                .uri("/api/products/" + (i % PRODUCTS + 1))
+                                .responseSingle((response, body) -> body.asString()
+                                        .thenReturn(response.status().code())), FAN_OUT)
+                        .filter(status -> status != 200)
+                        .count()
+                        .block();
+                if (failed > 0) {
+                    throw new IllegalStateException(failed + " of " + FAN_OUT + " lookups failed");
+                }
+                return failed;
+            });
+            System.out.printf("%-60s %12d connections%n", name, openedConnections.get());
+        } finally {
+            connections.disposeLater().block();
+        }
+    }
+
+    private static void seedProducts(DatabaseClient client) {
+        // schema.sql inserts the first five
+        Flux.range(6, PRODUCTS - 5)
+                .concatMap(id -> client.sql("INSERT INTO products (name, description, price, quantity) "
+                                + "VALUES (:name, :description, :price, :quantity)")
+                        .bind("name", "Product " + id)
+                        .bind("description", "Fan-out benchmark product")
+                        .bind("price", new BigDecimal("19.99"))
+                        .bind("quantity", 10)
+                        .then())
+                .blockLast();
+    }
+
+    private String login() {
+        String response = HttpClient.create()
+                .baseUrl("http://localhost:" + port)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                .post()
+                .uri("/api/auth/login")
+                .send(ByteBufFlux.fromString(Mono.just("{\"username\":\"user\",\"password\":\"password123\"}")))
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block();
+        try {
+            return new ObjectMapper().readTree(response).get("token").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.reactiveproductservice.benchmark;
+
+import com.example.reactiveproductservice.exception.ApiException;
+import com.example.reactiveproductservice.exception.ApiExceptionHandler;
+import com.example.reactiveproductservice.exception.NotFoundException;
+import com.example.reactiveproductservice.model.Product;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Cost of answering a product miss: the former RuntimeException (full stack trace) mapped to
+ * its message vs the shared stackless NotFoundException rendered as a problem detail
+ *
+ * Misses are raised STACK_DEPTH frames deep, roughly what a WebFlux request pipeline has on
+ * the stack, since filling in a stack trace costs time per frame.
+ */
+@Tag("benchmark")
+class NotFoundPathBenchmark {
+
+    private static final int ITERATIONS = 100_000;
+    private static final int STACK_DEPTH = 120;
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+    private final MockServerWebExchange exchange =
+            MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/424242"));
+
+    @Test
+    void notFoundPath() {
+        Benchmark.run("404 - RuntimeException + message (before)", ITERATIONS, () -> atDepth(STACK_DEPTH, () ->
+                Mono.<Product>empty()
+                        .switchIfEmpty(Mono.error(new RuntimeException("Product not found with id: " + 424242L)))
+                        .map(Product::getName)
+                        .onErrorResume(RuntimeException.class, ex -> Mono.just(ex.getMessage()))
+                        .block()));
+
+        Benchmark.run("404 - stackless NotFoundException + problem detail", ITERATIONS, () -> atDepth(STACK_DEPTH, () ->
+                Mono.<Product>empty()
+                        .switchIfEmpty(Mono.error(new NotFoundException("Product not found with id: " + 424242L)))
+                        .map(Object.class::cast)
+                        .onErrorResume(ApiException.class, ex -> Mono.just(handler.handleApiException(ex, exchange)))
+                        .block()));
+
+        Benchmark.run("404 - shared NotFoundException.PRODUCT + problem detail (after)", ITERATIONS, () -> atDepth(STACK_DEPTH, () ->
+                Mono.<Product>empty()
+                        .switchIfEmpty(Mono.error(NotFoundException.PRODUCT))
+                        .map(Object.class::cast)
+                        .onErrorResume(ApiException.class, ex -> Mono.just(handler.handleApiException(ex, exchange)))
+                        .block()));
+    }
+
+    private static Object atDepth(int depth, Supplier<?> operation) {
+        return depth == 0 ? operation.get() : atDepth(depth - 1, operation);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.reactiveproductservice.benchmark;
+
+import com.example.reactiveproductservice.ratelimit.ClientRequestLimiter;
+import com.example.reactiveproductservice.ratelimit.RateLimitProperties;
+import com.example.reactiveproductservice.security.AccessRule;
+import com.example.reactiveproductservice.security.CustomUserDetailsService;
+import com.example.reactiveproductservice.security.JwtAuthenticationWebFilter;
+import com.example.reactiveproductservice.security.JwtUtil;
+import com.example.reactiveproductservice.security.RouteAuthorizationTable;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-request overhead of route authorization: the previous pathMatchers list vs the
+ * precompiled RouteAuthorizationTable, plus the JWT filter on a public route
+ */
+@Tag("benchmark")
+class SecurityFilterBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+
+    private final RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+            .route("/api/auth/**", AccessRule.permitAll())
+            .route(HttpMethod.GET, "/api/products/**", AccessRule.authenticated())
+            .route(HttpMethod.POST, "/api/products", AccessRule.authenticated())
+            .route(HttpMethod.PUT, "/api/products/**", AccessRule.hasRole("ADMIN"))
+            .route(HttpMethod.DELETE, "/api/products/**", AccessRule.hasRole("ADMIN"))
+            .anyExchange(AccessRule.authenticated())
+            .build();
+
+    // Equivalent of the former authorizeExchange(...) pathMatchers list, evaluated in order
+    private final List<ServerWebExchangeMatcher> matchers = List.of(
+            ServerWebExchangeMatchers.pathMatchers("/api/auth/**"),
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/products/**"),
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/api/products"),
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.PUT, "/api/products/**"),
+            ServerWebExchangeMatchers.pathMatchers(HttpMethod.DELETE, "/api/products/**"),
+            ServerWebExchangeMatchers.anyExchange()
+    );
+
+    @Test
+    void routeAuthorization() {
+        MockServerHttpRequest getById = MockServerHttpRequest.get("/api/products/42").build();
+        MockServerHttpRequest delete = MockServerHttpRequest.delete("/api/products/42").build();
+
+        Benchmark.run("pathMatchers list      GET /api/products/42", ITERATIONS,
+                () -> firstMatch(MockServerWebExchange.from(getById)));
+        Benchmark.run("precompiled table      GET /api/products/42", ITERATIONS,
+                () -> table.resolve(MockServerWebExchange.from(getById)));
+        Benchmark.run("pathMatchers list      DELETE /api/products/42", ITERATIONS,
+                () -> firstMatch(MockServerWebExchange.from(delete)));
+        Benchmark.run("precompiled table      DELETE /api/products/42", ITERATIONS,
+                () -> table.resolve(MockServerWebExchange.from(delete)));
+    }
+
+    @Test
+    void jwtFilterOnPublicRoute() {
+        JwtAuthenticationWebFilter filter = new JwtAuthenticationWebFilter(
+                mock(JwtUtil.class), mock(CustomUserDetailsService.class), table,
+                new ClientRequestLimiter(new RateLimitProperties()), ObservationRegistry.NOOP);
+        WebFilterChain chain = exchange -> Mono.empty();
+        MockServerHttpRequest login = MockServerHttpRequest.post("/api/auth/login").build();
+
+        Benchmark.run("JWT filter             POST /api/auth/login", ITERATIONS,
+                () -> filter.filter(MockServerWebExchange.from(login), chain).block());
+    }
+
+    private int firstMatch(MockServerWebExchange exchange) {
+        for (int i = 0; i < matchers.size(); i++) {
+            if (matchers.get(i).matches(exchange).block().isMatch()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
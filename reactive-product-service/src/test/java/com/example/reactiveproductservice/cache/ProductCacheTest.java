@@ -0,0 +1,50 @@
+package com.example.reactiveproductservice.cache;
+
+import com.example.reactiveproductservice.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final ProductCache cache = new ProductCache(catalogVersion, 100, Duration.ofMinutes(1));
+
+    @Test
+    void get_shouldReturnCopiesOfCachedProduct() {
+        // Given
+        Product laptop = product(1L, "Laptop");
+        cache.put(laptop);
+        laptop.setName("Changed by caller");
+
+        // When
+        Product cached = cache.get(1L);
+        cached.setPrice(BigDecimal.ZERO);
+
+        // Then
+        assertThat(cached.getName()).isEqualTo("Laptop");
+        assertThat(cache.get(1L).getPrice()).isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    void putIfCurrent_shouldIgnoreProductsReadBeforeWrite() {
+        // Given - a read started at this version, then a write happened
+        long version = catalogVersion.current();
+        catalogVersion.bump();
+
+        // When
+        cache.putIfCurrent(List.of(product(1L, "Stale")), version);
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, null, new BigDecimal("999.99"), 1, null, null);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.reactiveproductservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTest {
+
+    @Test
+    void keys_shouldBeNormalized() {
+        // When & Then
+        assertThat(SearchResultCache.nameKey("Laptop")).isEqualTo(SearchResultCache.nameKey("LAPTOP"));
+        assertThat(SearchResultCache.priceBelowKey(new BigDecimal("100")))
+                .isEqualTo(SearchResultCache.priceBelowKey(new BigDecimal("100.00")));
+    }
+
+    @Test
+    void get_shouldMissEntriesFromOlderCatalogVersion() {
+        // Given
+        SearchResultCache cache = new SearchResultCache(true, 1 << 20, 100, Duration.ofMinutes(1));
+        cache.put("name:lap", 1, new long[]{1, 2});
+
+        // When & Then
+        assertThat(cache.get("name:lap", 1)).containsExactly(1, 2);
+        assertThat(cache.get("name:lap", 2)).isNull();
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedByWeight() {
+        // Given - room for two entries of 100 ids each
+        SearchResultCache cache = new SearchResultCache(true, 2 * (96 + 2 * 3 + 800), 1000, Duration.ofMinutes(1));
+        cache.put("k:a", 0, new long[100]);
+        cache.put("k:b", 0, new long[100]);
+        cache.get("k:a", 0);
+
+        // When
+        cache.put("k:c", 0, new long[100]);
+
+        // Then
+        assertThat(cache.get("k:a", 0)).isNotNull();
+        assertThat(cache.get("k:b", 0)).isNull();
+        assertThat(cache.get("k:c", 0)).isNotNull();
+    }
+
+    @Test
+    void size_shouldCountEntriesAcrossStripes() {
+        // Given - budget for many stripes
+        SearchResultCache cache = new SearchResultCache(true, 1 << 20, 100, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            cache.put(SearchResultCache.nameKey("term" + i), 0, new long[]{i});
+        }
+
+        // Then
+        assertThat(cache.size()).isEqualTo(50);
+        assertThat(cache.getWeightBytes()).isEqualTo(50L * (96 + 2 * "name:term0".length() + 8)
+                + 40L * 2);
+        assertThat(cache.get(SearchResultCache.nameKey("term49"), 0)).containsExactly(49);
+    }
+
+    @Test
+    void put_shouldNotCacheLargeResults() {
+        // Given
+        SearchResultCache cache = new SearchResultCache(true, 1 << 20, 2, Duration.ofMinutes(1));
+
+        // When
+        cache.put("name:a", 0, new long[]{1, 2, 3});
+
+        // Then
+        assertThat(cache.get("name:a", 0)).isNull();
+    }
+}
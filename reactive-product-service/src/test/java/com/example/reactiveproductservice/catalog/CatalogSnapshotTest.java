@@ -0,0 +1,75 @@
+package com.example.reactiveproductservice.catalog;
+
+import com.example.reactiveproductservice.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    private final CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+            product(3L, "Monitor", "299.99"),
+            product(1L, "Laptop", "999.99"),
+            product(2L, "Mouse", "29.99"),
+            product(4L, "Cable", "29.99")
+    ));
+
+    @Test
+    void findByPriceLessThan_shouldBeStrictAndSortedByPrice() {
+        // When & Then
+        assertThat(ids(snapshot.findByPriceLessThan(new BigDecimal("299.99")))).containsExactly(2L, 4L);
+        assertThat(ids(snapshot.findByPriceLessThan(new BigDecimal("29.99")))).isEmpty();
+    }
+
+    @Test
+    void findByPriceBetween_shouldBeInclusiveWithOpenBounds() {
+        // When & Then
+        assertThat(ids(snapshot.findByPriceBetween(new BigDecimal("299.99"), null, false, 10))).containsExactly(3L, 1L);
+        assertThat(ids(snapshot.findByPriceBetween(null, new BigDecimal("299.99"), false, 10))).containsExactly(2L, 4L, 3L);
+        assertThat(ids(snapshot.findByPriceBetween(new BigDecimal("500"), new BigDecimal("100"), false, 10))).isEmpty();
+    }
+
+    @Test
+    void findByPriceBetween_shouldReturnTopNDescending() {
+        // When & Then
+        assertThat(ids(snapshot.findByPriceBetween(null, null, true, 2))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void withProduct_shouldProduceNewSnapshotAndLeaveOriginalUnchanged() {
+        // When
+        CatalogSnapshot updated = snapshot
+                .withProduct(product(1L, "Laptop", "9.99"))
+                .withProduct(product(5L, "Keyboard", "49.99"))
+                .withoutProduct(3L);
+
+        // Then
+        assertThat(ids(updated.findByPriceBetween(null, null, false, 10))).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(snapshot.size()).isEqualTo(4);
+        assertThat(ids(snapshot.findByPriceBetween(null, null, false, 10))).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void findByPriceBetween_shouldReturnFullProducts() {
+        // When
+        Product laptop = snapshot.findByPriceBetween(new BigDecimal("999.99"), null, false, 1).get(0);
+
+        // Then
+        assertThat(laptop.getName()).isEqualTo("Laptop");
+        assertThat(laptop.getPrice()).isEqualTo(new BigDecimal("999.99"));
+        assertThat(laptop.getQuantity()).isEqualTo(10);
+    }
+
+    private static Product product(Long id, String name, String price) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Product(id, name, name + " description", new BigDecimal(price), 10, now, now);
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.reactiveproductservice.catalog;
+
+import com.example.reactiveproductservice.dto.ProductStatsResponse;
+import com.example.reactiveproductservice.model.Product;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogStatisticsTest {
+
+    private final CatalogStatistics statistics = new CatalogStatistics(null, new String[]{"10", "100"}, 3);
+
+    @Test
+    void onWrites_shouldApplyDeltas() {
+        // Given
+        Product mouse = product(1L, "29.99", 10);
+        Product laptop = product(2L, "999.99", 2);
+
+        // When
+        statistics.onCreated(mouse);
+        statistics.onCreated(laptop);
+        statistics.onUpdated(new BigDecimal("29.99"), 10, product(1L, "9.99", 5));
+        statistics.onDeleted(laptop);
+
+        // Then
+        ProductStatsResponse stats = statistics.snapshot();
+        assertThat(stats.getProductCount()).isEqualTo(1);
+        assertThat(stats.getTotalStock()).isEqualTo(5);
+        assertThat(stats.getTotalInventoryValue()).isEqualTo(new BigDecimal("49.95"));
+        assertThat(stats.getPriceBuckets())
+                .extracting(ProductStatsResponse.PriceBucket::getCount)
+                .containsExactly(1L, 0L, 0L);
+    }
+
+    @Test
+    void snapshot_shouldTreatBucketBoundAsInclusiveLowerLimit() {
+        // Given
+        statistics.onCreated(product(1L, "10.00", 1));
+        statistics.onCreated(product(2L, "100", 1));
+
+        // When
+        List<ProductStatsResponse.PriceBucket> buckets = statistics.snapshot().getPriceBuckets();
+
+        // Then
+        assertThat(buckets).extracting(ProductStatsResponse.PriceBucket::getCount).containsExactly(0L, 1L, 1L);
+        assertThat(buckets.get(2).getMaxPrice()).isNull();
+    }
+
+    @Test
+    void reconcile_shouldReplaceDriftedTotalsWithAggregate() {
+        // Given - two products in the table, one of them never seen locally
+        CatalogStatistics reconciled = new CatalogStatistics(productsDatabase(), new String[]{"10", "100"}, 3);
+        reconciled.onCreated(product(1L, "29.99", 10));
+
+        // When & Then
+        StepVerifier.create(reconciled.reconcile())
+                .expectNext(true)
+                .verifyComplete();
+        ProductStatsResponse stats = reconciled.snapshot();
+        assertThat(stats.getProductCount()).isEqualTo(2);
+        assertThat(stats.getTotalStock()).isEqualTo(12);
+        assertThat(stats.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void reconcile_shouldSkipWhileWriteInFlightOnlyUpToLimit() {
+        // Given - a write that has started but not completed
+        CatalogStatistics reconciled = new CatalogStatistics(productsDatabase(), new String[]{"10", "100"}, 2);
+        Disposable pendingWrite = reconciled.tracked(Mono.never()).subscribe();
+
+        // When & Then
+        StepVerifier.create(reconciled.reconcile()).expectNext(false).verifyComplete();
+        StepVerifier.create(reconciled.reconcile()).expectNext(false).verifyComplete();
+        StepVerifier.create(reconciled.reconcile()).expectNext(true).verifyComplete();
+        assertThat(reconciled.snapshot().getProductCount()).isEqualTo(2);
+        pendingWrite.dispose();
+    }
+
+    @Test
+    void reconcile_shouldKeepDeltasAppliedWhileQueryRuns() {
+        // Given - a create whose delta lands after the query started (forced past the skip limit)
+        CatalogStatistics reconciled = new CatalogStatistics(productsDatabase(), new String[]{"10", "100"}, 0);
+        Mono<Boolean> reconcile = reconciled.reconcile()
+                .doOnSubscribe(subscription -> reconciled.tracked(Mono.fromRunnable(
+                        () -> reconciled.onCreated(product(3L, "5.00", 1)))).subscribe());
+
+        // When & Then - the aggregate counts two products, the concurrent delta a third
+        StepVerifier.create(reconcile)
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(reconciled.snapshot().getProductCount()).isEqualTo(3);
+    }
+
+    private static DatabaseClient productsDatabase() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///catalog-statistics-" + System.nanoTime() + "?options=DB_CLOSE_DELAY=-1"));
+        client.sql("CREATE TABLE products (id BIGINT PRIMARY KEY, price DECIMAL(10, 2), quantity INT)")
+                .then()
+                .block();
+        client.sql("INSERT INTO products VALUES (1, 29.99, 10), (2, 999.99, 2)")
+                .then()
+                .block();
+        return client;
+    }
+
+    private static Product product(Long id, String price, int quantity) {
+        return new Product(id, "Product " + id, null, new BigDecimal(price), quantity, null, null);
+    }
+}
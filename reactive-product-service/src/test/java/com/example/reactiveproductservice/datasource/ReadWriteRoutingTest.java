@@ -0,0 +1,108 @@
+package com.example.reactiveproductservice.datasource;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+/**
+ * Two embedded H2 databases stand in for primary and replica; each holds one row
+ * naming itself, so the query result shows where it was routed
+ */
+class ReadWriteRoutingTest {
+
+    private RoutingConnectionFactory connectionFactory;
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory primary = database("primary");
+        ConnectionFactory replica = database("replica");
+        connectionFactory = new RoutingConnectionFactory(primary, replica);
+        connectionFactory.afterPropertiesSet();
+        databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void unmarkedQuery_shouldRunOnPrimary() {
+        // When & Then
+        StepVerifier.create(whereAmI())
+                .expectNext("primary")
+                .verifyComplete();
+    }
+
+    @Test
+    void read_shouldRunOnReplica() {
+        // Given
+        ReadWriteRouting routing = new ReadWriteRouting(Duration.ofSeconds(5));
+
+        // When & Then
+        StepVerifier.create(routing.read(whereAmI()).contextWrite(client("user:alice")))
+                .expectNext("replica")
+                .verifyComplete();
+    }
+
+    @Test
+    void read_shouldRunOnPrimaryForWritingClientWithinWindow() {
+        // Given
+        ReadWriteRouting routing = new ReadWriteRouting(Duration.ofSeconds(5));
+        StepVerifier.create(routing.write(whereAmI()).contextWrite(client("user:alice")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(routing.read(whereAmI()).contextWrite(client("user:alice")))
+                .expectNext("primary")
+                .verifyComplete();
+        StepVerifier.create(routing.read(whereAmI()).contextWrite(client("user:bob")))
+                .expectNext("replica")
+                .verifyComplete();
+    }
+
+    @Test
+    void read_shouldReturnToReplicaWhenWindowEnds() {
+        // Given
+        ReadWriteRouting routing = new ReadWriteRouting(Duration.ZERO);
+        StepVerifier.create(routing.write(whereAmI()).contextWrite(client("user:alice")))
+                .expectNext("primary")
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(routing.read(whereAmI()).contextWrite(client("user:alice")))
+                .expectNext("replica")
+                .verifyComplete();
+    }
+
+    private Mono<String> whereAmI() {
+        return databaseClient.sql("SELECT name FROM products")
+                .map(row -> row.get("name", String.class))
+                .one();
+    }
+
+    private static Context client(String clientKey) {
+        return Context.of(ReadWriteRouting.CLIENT_KEY, clientKey);
+    }
+
+    private static ConnectionFactory database(String name) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + name + "-" + System.nanoTime() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(255))")
+                .then()
+                .then(client.sql("INSERT INTO products VALUES (1, '" + name + "')").then())
+                .block();
+        return connectionFactory;
+    }
+}
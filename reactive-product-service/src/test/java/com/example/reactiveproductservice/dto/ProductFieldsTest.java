@@ -0,0 +1,60 @@
+package com.example.reactiveproductservice.dto;
+
+import com.example.reactiveproductservice.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldsTest {
+
+    @Test
+    void parse_shouldTreatBlankSelectionAsAllFields() {
+        // When & Then
+        assertThat(ProductFields.parse(null).isAll()).isTrue();
+        assertThat(ProductFields.parse(" ").isAll()).isTrue();
+    }
+
+    @Test
+    void parse_shouldAcceptJsonAndColumnNames() {
+        // When
+        ProductFields fields = ProductFields.parse("name, created_at,price");
+
+        // Then
+        assertThat(fields.isAll()).isFalse();
+        assertThat(fields.getColumns()).containsExactly("name", "price", "created_at");
+    }
+
+    @Test
+    void parse_shouldRejectUnknownField() {
+        // When & Then
+        assertThatThrownBy(() -> ProductFields.parse("name,secret"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void project_shouldKeepOnlySelectedFields() {
+        // Given
+        Product product = new Product();
+        product.setId(1L);
+        product.setName("Laptop");
+        product.setPrice(new BigDecimal("999.99"));
+
+        // When
+        Map<String, Object> projected = ProductFields.parse("price,name").project(product);
+
+        // Then
+        assertThat(projected.keySet()).containsExactly("name", "price");
+        assertThat(projected).containsEntry("name", "Laptop");
+    }
+
+    @Test
+    void withId_shouldAddIdColumn() {
+        // When & Then
+        assertThat(ProductFields.parse("name").withId().getColumns()).containsExactly("id", "name");
+    }
+}
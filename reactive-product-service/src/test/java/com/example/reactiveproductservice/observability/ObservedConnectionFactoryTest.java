@@ -0,0 +1,42 @@
+package com.example.reactiveproductservice.observability;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Span nesting for pool acquisition, exported to memory
+ */
+class ObservedConnectionFactoryTest {
+
+    private final InMemoryTracing tracing = new InMemoryTracing();
+
+    @Test
+    void create_shouldTracePoolAcquisitionUnderCallersSpan() {
+        // Given
+        ObservedConnectionFactory connectionFactory = new ObservedConnectionFactory(
+                ConnectionFactories.get("r2dbc:h2:mem:///observed-" + System.nanoTime()),
+                tracing.getObservationRegistry());
+
+        // When
+        StepVerifier.create(DatabaseClient.create(connectionFactory)
+                        .sql("SELECT 1")
+                        .map(row -> row.get(0))
+                        .one()
+                        .name("product.search")
+                        .tap(Micrometer.observation(tracing.getObservationRegistry())))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Then
+        SpanData search = tracing.span("product.search");
+        SpanData acquire = tracing.span("r2dbc.pool.acquire");
+        assertThat(acquire.getTraceId()).isEqualTo(search.getTraceId());
+        assertThat(acquire.getParentSpanId()).isEqualTo(search.getSpanId());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.reactiveproductservice.observability;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.proxy.observation.ObservationProxyExecutionListener;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement templates, per-template metrics and per-request round trips over an H2 database
+ */
+class QueryMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryMetricsListener listener =
+            new QueryMetricsListener(meterRegistry, Duration.ofSeconds(1), 5, 500);
+
+    @Test
+    void template_shouldCollapseInListsAndLimits() {
+        // When & Then
+        assertThat(StatementTemplates.template("SELECT *\n  FROM products WHERE id IN ($1, $2, $3) LIMIT 20"))
+                .isEqualTo("SELECT * FROM products WHERE id IN (...) LIMIT ?");
+        assertThat(StatementTemplates.selectedTable("SELECT id FROM products WHERE id = $1")).isEqualTo("products");
+        assertThat(StatementTemplates.selectedTable("DELETE FROM products WHERE id = $1")).isNull();
+    }
+
+    @Test
+    void afterQuery_shouldRecordStatementsAgainstRequestInContext() {
+        // Given
+        DatabaseClient client = DatabaseClient.create(instrumented(h2()));
+        createUsersTable(client);
+        RequestQueryStats stats = new RequestQueryStats("POST /api/auth/register");
+
+        // When
+        StepVerifier.create(usernameAndEmailLookups(client)
+                        .contextWrite(context -> context.put(RequestQueryStats.CONTEXT_KEY, stats)))
+                .verifyComplete();
+
+        // Then
+        assertThat(stats.getRoundTrips()).isEqualTo(2);
+        assertThat(stats.suspectedNPlusOne(3)).as("two lookups on users should be one query").isNotNull();
+        assertThat(meterRegistry.get("db.statement")
+                .tag("query", "SELECT id FROM users WHERE email = $1")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void afterQuery_shouldNotClashWithBootObservationMeters() {
+        // Given - Boot's r2dbc-proxy observation listener and ours on the same connection factory
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        ConnectionFactory h2 = h2();
+        DatabaseClient client = DatabaseClient.create(ProxyConnectionFactory.builder(h2)
+                .listener(new ObservationProxyExecutionListener(observationRegistry, h2, "r2dbc:h2:mem"))
+                .listener(listener)
+                .build());
+        createUsersTable(client);
+
+        // When
+        StepVerifier.create(usernameAndEmailLookups(client)
+                        .name("auth.register")
+                        .tap(Micrometer.observation(observationRegistry)))
+                .verifyComplete();
+
+        // Then - every meter name is used with a single tag key set
+        assertThat(meterRegistry.find("db.statement").timers()).isNotEmpty();
+        for (String name : List.of("r2dbc.query", "db.statement", "db.statement.rows")) {
+            Set<Set<String>> tagKeySets = meterRegistry.find(name).meters().stream()
+                    .map(QueryMetricsListenerTest::tagKeys)
+                    .collect(Collectors.toSet());
+            assertThat(tagKeySets).as(name).hasSizeLessThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    void suspectedNPlusOne_shouldFlagRepeatedStatement() {
+        // Given
+        RequestQueryStats stats = new RequestQueryStats("GET /api/products");
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            stats.record("SELECT * FROM products WHERE id = $1", 1_000);
+        }
+
+        // Then
+        assertThat(stats.getRoundTrips()).isEqualTo(3);
+        assertThat(stats.suspectedNPlusOne(3)).isEqualTo("3 executions of SELECT * FROM products WHERE id = $1");
+        assertThat(new RequestQueryStats("GET /api/products").suspectedNPlusOne(3)).isNull();
+    }
+
+    private static Flux<Object> usernameAndEmailLookups(DatabaseClient client) {
+        return Flux.concat(
+                client.sql("SELECT id FROM users WHERE username = :username").bind("username", "alice")
+                        .map(row -> row.get(0)).all(),
+                client.sql("SELECT id FROM users WHERE email = :email").bind("email", "alice@example.com")
+                        .map(row -> row.get(0)).all());
+    }
+
+    private static void createUsersTable(DatabaseClient client) {
+        client.sql("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), email VARCHAR(100))")
+                .then()
+                .block();
+    }
+
+    private static Set<String> tagKeys(Meter meter) {
+        return meter.getId().getTags().stream().map(Tag::getKey).collect(Collectors.toSet());
+    }
+
+    private static ConnectionFactory h2() {
+        return ConnectionFactories.get("r2dbc:h2:mem:///query-metrics-" + System.nanoTime()
+                + "?options=DB_CLOSE_DELAY=-1");
+    }
+
+    private ConnectionFactory instrumented(ConnectionFactory connectionFactory) {
+        return ProxyConnectionFactory.builder(connectionFactory).listener(listener).build();
+    }
+}
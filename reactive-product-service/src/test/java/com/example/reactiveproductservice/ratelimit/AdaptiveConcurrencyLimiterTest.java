@@ -0,0 +1,71 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter.Priority.HIGH;
+import static com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter.Priority.LOW;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void limit_shouldShedLowPriorityCallsBeforeHighPriorityCalls() {
+        // Given - limit 4, low priority may use 2 slots
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setLowPriorityShare(0.5);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        Sinks.Empty<Void> pending = Sinks.empty();
+
+        limiter.limit(LOW, pending.asMono()).subscribe();
+        limiter.limit(LOW, pending.asMono()).subscribe();
+
+        // When & Then
+        StepVerifier.create(limiter.limit(LOW, Mono.just("scan")))
+                .expectError(ServiceOverloadedException.class)
+                .verify();
+        StepVerifier.create(limiter.limit(HIGH, Mono.just("lookup")))
+                .expectNext("lookup")
+                .verifyComplete();
+
+        pending.tryEmitEmpty();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limit_shouldBackOffWhenDatabaseTimesOut() {
+        // Given
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+
+        // When
+        StepVerifier.create(limiter.limit(HIGH, Mono.error(new QueryTimeoutException("timeout"))))
+                .expectError(QueryTimeoutException.class)
+                .verify();
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void onSample_shouldShrinkLimitWhenLatencyRises() {
+        // Given
+        AdaptiveLimitProperties properties = new AdaptiveLimitProperties();
+        properties.setInitialLimit(20);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties);
+        limiter.onSample(1_000_000, 20);
+
+        // When - RTT ten times the baseline while the limit is saturated
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(10_000_000, 20);
+        }
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(20);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptThrottleTest {
+
+    @Test
+    void tryAttempt_shouldNotTouchUsernameBucketWhenAddressIsRejected() {
+        // Given - two attempts per address and per username; the attacker's address is used up
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getLogin().setAttemptsPerMinute(1);
+        properties.getLogin().setBurst(2);
+        LoginAttemptThrottle throttle = new LoginAttemptThrottle(properties);
+        assertThat(throttle.tryAttempt("bob", "10.0.0.66")).isZero();
+        assertThat(throttle.tryAttempt("carol", "10.0.0.66")).isZero();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.tryAttempt("alice", "10.0.0.66")).isPositive();
+        }
+
+        // Then - alice still has her full burst from her own address
+        assertThat(throttle.tryAttempt("alice", "192.168.1.10")).isZero();
+        assertThat(throttle.tryAttempt("Alice", "192.168.1.10")).isZero();
+        assertThat(throttle.tryAttempt("alice", "192.168.1.11")).isPositive();
+    }
+}
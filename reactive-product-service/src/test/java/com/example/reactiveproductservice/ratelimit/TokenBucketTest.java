@@ -0,0 +1,70 @@
+package com.example.reactiveproductservice.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryConsume_shouldAllowBurstThenReject() {
+        // Given - 1 token per second, burst of 3
+        TokenBucket bucket = new TokenBucket(SECOND, 3);
+        long now = 0;
+
+        // When & Then
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tryConsume_shouldRefillOverTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(SECOND, 1);
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(SECOND / 2)).isEqualTo(SECOND / 2);
+
+        // When & Then - one interval later a token is available again
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+    }
+
+    @Test
+    void isFull_shouldBeTrueOnceBucketHasRefilled() {
+        TokenBucket bucket = new TokenBucket(SECOND, 2);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.isFull(SECOND)).isTrue();
+    }
+
+    @Test
+    void registry_shouldTrackClientsIndependently() {
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 1, 4, 100);
+
+        assertThat(registry.tryConsume("user:alice")).isZero();
+        assertThat(registry.tryConsume("user:alice")).isPositive();
+        assertThat(registry.tryConsume("user:bob")).isZero();
+
+        registry.reset("user:alice");
+        assertThat(registry.tryConsume("user:alice")).isZero();
+    }
+
+    @Test
+    void registry_shouldShareOverflowBucketWhenStripeStaysFull() {
+        // Given - one stripe holding at most two keys, both with an empty bucket
+        TokenBucketRegistry registry = new TokenBucketRegistry(1, 1, 1, 2);
+        registry.tryConsume("ip:1");
+        registry.tryConsume("ip:2");
+
+        // When & Then - new keys are not inserted; they share one bucket
+        assertThat(registry.tryConsume("ip:3")).isZero();
+        assertThat(registry.tryConsume("ip:4")).isPositive();
+        assertThat(registry.size()).isEqualTo(2);
+    }
+}
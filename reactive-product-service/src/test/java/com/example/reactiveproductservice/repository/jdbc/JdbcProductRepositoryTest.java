@@ -0,0 +1,164 @@
+package com.example.reactiveproductservice.repository.jdbc;
+
+import com.example.reactiveproductservice.dto.ProductFields;
+import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.model.User;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StreamUtils;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC repositories against an embedded H2 database
+ */
+class JdbcProductRepositoryTest {
+
+    private HikariDataSource dataSource;
+    private JdbcExecutor jdbc;
+    private JdbcProductRepository products;
+    private JdbcUserRepository users;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:jdbc-repository-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+        createSchema(dataSource);
+        jdbc = new JdbcExecutor(dataSource, 4);
+        products = new JdbcProductRepository(jdbc);
+        users = new JdbcUserRepository(jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    void save_shouldInsertThenUpdate() {
+        // Given
+        Product laptop = products.save(product("Laptop", "999.99")).block();
+        assertThat(laptop.getId()).isNotNull();
+
+        // When
+        laptop.setPrice(new BigDecimal("899.99"));
+        products.save(laptop).block();
+
+        // Then
+        StepVerifier.create(products.findById(laptop.getId()))
+                .expectNextMatches(found -> found.getPrice().compareTo(new BigDecimal("899.99")) == 0
+                        && "Laptop".equals(found.getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    void save_shouldFailWhenUpdatingMissingRow() {
+        // Given
+        Product ghost = product("Ghost", "1.00");
+        ghost.setId(42L);
+
+        // When & Then
+        StepVerifier.create(products.save(ghost))
+                .expectError(TransientDataAccessResourceException.class)
+                .verify();
+    }
+
+    @Test
+    void derivedQueries_shouldMatchR2dbcSemantics() {
+        // Given
+        products.saveAll(List.of(product("Laptop", "999.99"), product("Mouse", "29.99"),
+                product("Mouse Pad", "9.99"))).blockLast();
+
+        // When & Then
+        StepVerifier.create(products.findByNameContainingIgnoreCase("MOUSE").count())
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(products.findByPriceLessThan(new BigDecimal("29.99")).map(Product::getName))
+                .expectNext("Mouse Pad")
+                .verifyComplete();
+        StepVerifier.create(products.findByPriceGreaterThanEqual(BigDecimal.ZERO,
+                        PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price"))).map(Product::getName))
+                .expectNext("Laptop", "Mouse")
+                .verifyComplete();
+    }
+
+    @Test
+    void findByNameContainingIgnoreCase_shouldTreatWildcardsAsLiterals() {
+        // Given
+        products.saveAll(List.of(product("50% off", "1.00"), product("500 units", "1.00"),
+                product("usb_c cable", "1.00"), product("usbc cable", "1.00"))).blockLast();
+
+        // When & Then
+        StepVerifier.create(products.findByNameContainingIgnoreCase("50%").map(Product::getName))
+                .expectNext("50% off")
+                .verifyComplete();
+        StepVerifier.create(products.findByNameContainingIgnoreCase("USB_C").map(Product::getName))
+                .expectNext("usb_c cable")
+                .verifyComplete();
+    }
+
+    @Test
+    void findByIdInProjected_shouldReadOnlySelectedColumns() {
+        // Given
+        Product laptop = products.save(product("Laptop", "999.99")).block();
+
+        // When & Then
+        StepVerifier.create(products.findByIdInProjected(List.of(laptop.getId()),
+                        ProductFields.parse("name").withId()))
+                .expectNextMatches(found -> "Laptop".equals(found.getName()) && found.getPrice() == null)
+                .verifyComplete();
+    }
+
+    @Test
+    void userLookups_shouldFindSavedUser() {
+        // Given
+        User user = new User(null, "alice", "hash", "alice@example.com", "ROLE_USER", true,
+                LocalDateTime.now(), LocalDateTime.now());
+        users.save(user).block();
+
+        // When & Then
+        StepVerifier.create(users.findByUsername("alice").map(User::getEmail))
+                .expectNext("alice@example.com")
+                .verifyComplete();
+        StepVerifier.create(users.existsByEmail("bob@example.com"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    static void createSchema(javax.sql.DataSource dataSource) throws IOException, SQLException {
+        String schema = StreamUtils.copyToString(new ClassPathResource("schema-h2.sql").getInputStream(),
+                StandardCharsets.UTF_8);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : schema.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private static Product product(String name, String price) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Product(null, name, null, new BigDecimal(price), 1, now, now);
+    }
+}
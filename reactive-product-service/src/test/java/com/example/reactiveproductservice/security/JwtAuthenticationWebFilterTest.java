@@ -0,0 +1,81 @@
+package com.example.reactiveproductservice.security;
+
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
+import com.example.reactiveproductservice.model.User;
+import com.example.reactiveproductservice.ratelimit.ClientRequestLimiter;
+import com.example.reactiveproductservice.ratelimit.RateLimitProperties;
+import com.example.reactiveproductservice.repository.UserRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationWebFilterTest {
+
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setSecret("MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm");
+        jwtUtil = new JwtUtil(jwtProperties, new JwtKeyStore(jwtProperties));
+
+        // One request per client, refilled only after an hour
+        RateLimitProperties rateLimit = new RateLimitProperties();
+        rateLimit.setRequestsPerSecond(1.0 / 3600);
+        rateLimit.setBurst(1);
+
+        filter = new JwtAuthenticationWebFilter(jwtUtil,
+                new CustomUserDetailsService(userRepository, new ReadWriteRouting(Duration.ofSeconds(5))),
+                RouteAuthorizationTable.builder().anyExchange(AccessRule.authenticated()).build(),
+                new ClientRequestLimiter(rateLimit),
+                ObservationRegistry.NOOP);
+    }
+
+    @Test
+    void filter_shouldRejectThrottledClientBeforeLoadingUser() {
+        // Given
+        String token = jwtUtil.generateToken("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Mono.just(new User(1L, "alice", "hash",
+                "alice@example.com", "ROLE_USER", true, LocalDateTime.now(), LocalDateTime.now())));
+        StepVerifier.create(filter.filter(exchange(token), CHAIN)).verifyComplete();
+
+        // When
+        MockServerWebExchange throttled = exchange(token);
+        StepVerifier.create(filter.filter(throttled, CHAIN)).verifyComplete();
+
+        // Then
+        assertThat(throttled.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    private static MockServerWebExchange exchange(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/products/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.reactiveproductservice.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm";
+
+    @Test
+    void generateToken_shouldRoundTripWithHmacSecret() {
+        JwtUtil jwtUtil = jwtUtil(properties("HS256"));
+
+        String token = jwtUtil.generateToken("alice");
+
+        assertThat(jwtUtil.getUsernameIfValid(token)).isEqualTo("alice");
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void getUsernameIfValid_shouldResolveVerificationKeyByKeyId() throws Exception {
+        // Given - a verify-only key set with a current RSA key and an older EdDSA key
+        KeyPair current = Jwts.SIG.RS256.keyPair().build();
+        KeyPair previous = Jwts.SIG.EdDSA.keyPair().build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        String keySet = objectMapper.writeValueAsString(Map.of("keys", List.of(
+                Jwks.builder().key(current.getPublic()).id("2026-10").build(),
+                Jwks.builder().key(previous.getPublic()).id("2026-04").build()
+        )));
+        JwtProperties properties = properties("RS256");
+        properties.setKeySet(new ByteArrayResource(keySet.getBytes(StandardCharsets.UTF_8)));
+        JwtKeyStore keyStore = new JwtKeyStore(properties);
+        JwtUtil jwtUtil = new JwtUtil(properties, keyStore);
+
+        // When
+        String token = signedToken("alice", "2026-10", current);
+        String oldToken = signedToken("bob", "2026-04", previous);
+
+        // Then
+        assertThat(jwtUtil.getUsernameIfValid(token)).isEqualTo("alice");
+        assertThat(jwtUtil.getUsernameIfValid(oldToken)).isEqualTo("bob");
+        assertThat(jwtUtil.getUsernameIfValid(signedToken("bob", "2026-10", previous))).isNull();
+        assertThat(keyStore.getPublicJwks()).hasSize(2);
+        assertThatThrownBy(() -> jwtUtil.generateToken("alice")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void getUsernameIfValid_shouldRejectUnknownKeyId() {
+        JwtUtil jwtUtil = jwtUtil(properties("EdDSA"));
+        String token = signedToken("mallory", "unknown", Jwts.SIG.EdDSA.keyPair().build());
+
+        assertThat(jwtUtil.getUsernameIfValid(token)).isNull();
+        assertThat(jwtUtil.getUsernameIfValid(jwtUtil.generateToken("alice"))).isEqualTo("alice");
+    }
+
+    @Test
+    void getUsernameIfValid_shouldRejectTokenWithoutKeyIdInAsymmetricMode() {
+        // Given - an HS256 token without a kid, signed with the (committed) jwt.secret
+        JwtUtil jwtUtil = jwtUtil(properties("RS256"));
+
+        // When & Then
+        assertThat(jwtUtil.getUsernameIfValid(legacyToken("mallory"))).isNull();
+    }
+
+    @Test
+    void getUsernameIfValid_shouldAcceptTokenWithoutKeyIdOnlyUntilLegacyCutoff() {
+        // Given
+        JwtProperties migrating = properties("RS256");
+        migrating.setLegacyTokensUntil(Instant.now().plus(Duration.ofDays(1)));
+        JwtProperties migrated = properties("RS256");
+        migrated.setLegacyTokensUntil(Instant.now().minus(Duration.ofDays(1)));
+
+        // When & Then
+        assertThat(jwtUtil(migrating).getUsernameIfValid(legacyToken("alice"))).isEqualTo("alice");
+        assertThat(jwtUtil(migrated).getUsernameIfValid(legacyToken("alice"))).isNull();
+    }
+
+    private String legacyToken(String subject) {
+        return Jwts.builder()
+                .subject(subject)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private String signedToken(String subject, String keyId, KeyPair keyPair) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject(subject)
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private JwtProperties properties(String algorithm) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000L);
+        return properties;
+    }
+
+    private JwtUtil jwtUtil(JwtProperties properties) {
+        return new JwtUtil(properties, new JwtKeyStore(properties));
+    }
+}
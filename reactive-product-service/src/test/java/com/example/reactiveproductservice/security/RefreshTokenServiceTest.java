@@ -0,0 +1,82 @@
+package com.example.reactiveproductservice.security;
+
+import com.example.reactiveproductservice.model.RefreshToken;
+import com.example.reactiveproductservice.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private JwtUtil jwtUtil;
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("MySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm");
+        jwtUtil = new JwtUtil(properties, new JwtKeyStore(properties));
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, jwtUtil, properties);
+    }
+
+    @Test
+    void rotate_shouldIssueNewTokenWithRevokeAndInsertOnly() {
+        // Given
+        String token = jwtUtil.generateRefreshToken("alice");
+        when(refreshTokenRepository.revoke(RefreshTokenService.hash(token))).thenReturn(Mono.just(1));
+        when(refreshTokenRepository.save(any(RefreshToken.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When & Then
+        StepVerifier.create(refreshTokenService.rotate(token))
+                .expectNextMatches(rotated -> rotated.username().equals("alice")
+                        && !rotated.refreshToken().equals(token))
+                .verifyComplete();
+        verify(refreshTokenRepository).revoke(RefreshTokenService.hash(token));
+        verify(refreshTokenRepository).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_shouldRevokeAllTokensWhenTokenIsReused() {
+        // Given - the token was already rotated, so the conditional UPDATE matches no row
+        String token = jwtUtil.generateRefreshToken("alice");
+        when(refreshTokenRepository.revoke(RefreshTokenService.hash(token))).thenReturn(Mono.just(0));
+        when(refreshTokenRepository.revokeAllForUser("alice")).thenReturn(Mono.just(2));
+
+        // When & Then
+        StepVerifier.create(refreshTokenService.rotate(token))
+                .verifyComplete();
+        verify(refreshTokenRepository).revokeAllForUser("alice");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void rotate_shouldRejectAccessTokens() {
+        StepVerifier.create(refreshTokenService.rotate(jwtUtil.generateToken("alice")))
+                .verifyComplete();
+        verify(refreshTokenRepository, never()).revoke(anyString());
+    }
+
+    @Test
+    void revoke_shouldReportInvalidTokenWithoutTouchingDatabase() {
+        // When & Then
+        StepVerifier.create(refreshTokenService.revoke("not-a-token"))
+                .expectNext(RefreshTokenService.RevokeResult.INVALID)
+                .verifyComplete();
+        verify(refreshTokenRepository, never()).revoke(anyString());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.reactiveproductservice.security;
+
+import com.example.reactiveproductservice.config.SecurityConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteAuthorizationTableTest {
+
+    private final RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+            .route("/api/auth/**", AccessRule.permitAll())
+            .route(HttpMethod.GET, "/api/products/**", AccessRule.authenticated())
+            .route(HttpMethod.POST, "/api/products", AccessRule.authenticated())
+            .route(HttpMethod.PUT, "/api/products/**", AccessRule.hasRole("ADMIN"))
+            .route(HttpMethod.DELETE, "/api/products/**", AccessRule.hasRole("ADMIN"))
+            .anyExchange(AccessRule.authenticated())
+            .build();
+
+    @Test
+    void lookup_shouldTreatAuthEndpointsAsPublic() {
+        assertThat(table.lookup(HttpMethod.POST, "/api/auth/login").isPublic()).isTrue();
+        assertThat(table.lookup(HttpMethod.GET, "/api/auth/me").isPublic()).isTrue();
+        assertThat(table.lookup(HttpMethod.GET, "/api/authx").isPublic()).isFalse();
+    }
+
+    @Test
+    void lookup_shouldMatchDoubleWildcardIncludingBasePath() {
+        assertThat(table.lookup(HttpMethod.GET, "/api/products")).isSameAs(AccessRule.authenticated());
+        assertThat(table.lookup(HttpMethod.GET, "/api/products/42")).isSameAs(AccessRule.authenticated());
+        assertThat(table.lookup(HttpMethod.GET, "/api/products/search")).isSameAs(AccessRule.authenticated());
+    }
+
+    @Test
+    void lookup_shouldRequireAdminForWrites() {
+        Authentication user = authentication("ROLE_USER");
+        Authentication admin = authentication("ROLE_USER", "ROLE_ADMIN");
+
+        AccessRule delete = table.lookup(HttpMethod.DELETE, "/api/products/42");
+
+        assertThat(delete.isGranted(user)).isFalse();
+        assertThat(delete.isGranted(admin)).isTrue();
+        assertThat(table.lookup(HttpMethod.POST, "/api/products").isGranted(user)).isTrue();
+    }
+
+    @Test
+    void lookup_shouldRequireAdminForPercentEncodedPath() {
+        // Given - WebFlux decodes "%70" to "p" and routes this to deleteProduct
+        AccessRule delete = table.lookup(HttpMethod.DELETE, "/api/%70roducts/42");
+
+        // When & Then
+        assertThat(delete.isGranted(authentication("ROLE_USER"))).isFalse();
+        assertThat(delete.isGranted(authentication("ROLE_USER", "ROLE_ADMIN"))).isTrue();
+    }
+
+    @Test
+    void lookup_shouldRequireAdminForPathWithMatrixParameters() {
+        // Given - matrix parameters are not part of the segment WebFlux matches on
+        AccessRule update = table.lookup(HttpMethod.PUT, "/api/products;x=1/42");
+        AccessRule delete = table.lookup(HttpMethod.DELETE, "/api;v=2/products/42;y=3");
+
+        // When & Then
+        assertThat(update.isGranted(authentication("ROLE_USER"))).isFalse();
+        assertThat(delete.isGranted(authentication("ROLE_USER"))).isFalse();
+    }
+
+    @Test
+    void resolve_shouldMatchDecodedRequestPath() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.method(HttpMethod.DELETE, URI.create("/api/%70roducts;x=1/42")).build());
+
+        // When
+        AccessRule rule = table.resolve(exchange);
+
+        // Then
+        assertThat(rule.isGranted(authentication("ROLE_USER"))).isFalse();
+    }
+
+    @Test
+    void lookup_shouldFallBackToDefaultRule() {
+        assertThat(table.lookup(HttpMethod.POST, "/api/products/42")).isSameAs(AccessRule.authenticated());
+        assertThat(table.lookup(HttpMethod.GET, "/")).isSameAs(AccessRule.authenticated());
+        assertThat(table.lookup(HttpMethod.GET, "/actuator/health").isGranted(null)).isFalse();
+    }
+
+    @Test
+    void routeAuthorizationTable_shouldRestrictActuatorToAdminExceptHealth() {
+        // Given - the application's rules
+        RouteAuthorizationTable applicationTable = new SecurityConfig(null, null, null, null).routeAuthorizationTable();
+
+        // When & Then
+        assertThat(applicationTable.lookup(HttpMethod.GET, "/actuator/health").isPublic()).isTrue();
+        assertThat(applicationTable.lookup(HttpMethod.GET, "/actuator/metrics").isGranted(authentication("ROLE_USER")))
+                .isFalse();
+        assertThat(applicationTable.lookup(HttpMethod.GET, "/actuator/startup")
+                .isGranted(authentication("ROLE_USER", "ROLE_ADMIN"))).isTrue();
+        assertThat(applicationTable.lookup(HttpMethod.POST, "/actuator/health").isPublic()).isFalse();
+    }
+
+    private Authentication authentication(String... roles) {
+        return new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList(roles));
+    }
+}
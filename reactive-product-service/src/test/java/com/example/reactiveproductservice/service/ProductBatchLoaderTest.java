@@ -0,0 +1,60 @@
+package com.example.reactiveproductservice.service;
+
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
+import com.example.reactiveproductservice.datasource.DataSourceRoute;
+import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBatchLoaderTest {
+
+    private static final String TRACE_KEY = "trace";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Test
+    void load_shouldRunQueryInCallerContextWithoutClientKey() {
+        // Given - the repository reports which context keys the batch query saw
+        ProductBatchLoader batchLoader = new ProductBatchLoader(productRepository, true, 2000, 100);
+        when(productRepository.findById(1L)).thenReturn(Mono.deferContextual(context -> {
+            Product product = new Product();
+            product.setId(1L);
+            product.setName(context.getOrDefault(TRACE_KEY, "none") + "/"
+                    + context.getOrDefault(ReadWriteRouting.CLIENT_KEY, "none"));
+            return Mono.just(product);
+        }));
+
+        // When & Then
+        StepVerifier.create(batchLoader.load(1L)
+                        .contextWrite(Context.of(TRACE_KEY, "request-1", ReadWriteRouting.CLIENT_KEY, "alice")))
+                .expectNextMatches(product -> product.getName().equals("request-1/none"))
+                .verifyComplete();
+    }
+
+    @Test
+    void load_shouldReadFromReplicaWhenLoaderDisabled() {
+        // Given - the repository reports the route it was called with
+        ProductBatchLoader batchLoader = new ProductBatchLoader(productRepository, false, 2000, 100);
+        when(productRepository.findById(1L)).thenReturn(Mono.deferContextual(context -> {
+            Product product = new Product();
+            product.setId(1L);
+            product.setName(String.valueOf(context.getOrDefault(ReadWriteRouting.ROUTE_KEY, null)));
+            return Mono.just(product);
+        }));
+
+        // When & Then
+        StepVerifier.create(batchLoader.load(1L))
+                .expectNextMatches(product -> product.getName().equals(DataSourceRoute.REPLICA.name()))
+                .verifyComplete();
+    }
+}
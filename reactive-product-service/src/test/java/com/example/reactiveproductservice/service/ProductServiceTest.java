@@ -1,11 +1,21 @@
 package com.example.reactiveproductservice.service;
 
+import com.example.reactiveproductservice.cache.CatalogVersion;
+import com.example.reactiveproductservice.cache.ProductCache;
+import com.example.reactiveproductservice.cache.SearchResultCache;
+import com.example.reactiveproductservice.catalog.CatalogStatistics;
+import com.example.reactiveproductservice.catalog.ColumnarCatalog;
+import com.example.reactiveproductservice.datasource.ReadWriteRouting;
 import com.example.reactiveproductservice.dto.ProductRequest;
+import com.example.reactiveproductservice.exception.NotFoundException;
 import com.example.reactiveproductservice.model.Product;
+import com.example.reactiveproductservice.ratelimit.AdaptiveConcurrencyLimiter;
+import com.example.reactiveproductservice.ratelimit.AdaptiveLimitProperties;
 import com.example.reactiveproductservice.repository.ProductRepository;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
@@ -13,8 +23,13 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,9 +38,25 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
     private ProductService productService;
 
+    @BeforeEach
+    void setUp() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+        productService = new ProductService(
+                productRepository,
+                new AdaptiveConcurrencyLimiter(new AdaptiveLimitProperties()),
+                new ProductBatchLoader(productRepository, true, 2000, 100),
+                new ColumnarCatalog(productRepository, false, 1000),
+                new CatalogStatistics(null, new String[]{"10", "100"}, 3),
+                catalogVersion,
+                new ProductCache(catalogVersion, 100, Duration.ofMinutes(1)),
+                new SearchResultCache(true, 1 << 20, 100, Duration.ofMinutes(1)),
+                new ReadWriteRouting(Duration.ofSeconds(5)),
+                ObservationRegistry.NOOP
+        );
+    }
+
     @Test
     void getAllProducts_shouldReturnAllProducts() {
         // Given
@@ -66,6 +97,42 @@ class ProductServiceTest {
                 .verifyComplete();  // Completes with no items
     }
 
+    @Test
+    void getProductById_shouldBatchConcurrentLookups() {
+        // Given
+        Product product1 = createProduct(1L, "Laptop", BigDecimal.valueOf(1000));
+        Product product2 = createProduct(2L, "Mouse", BigDecimal.valueOf(50));
+        when(productRepository.findByIdIn(any(Long[].class)))
+                .thenReturn(Flux.just(product1, product2));
+
+        // When & Then - three concurrent lookups resolved with one query
+        StepVerifier.create(Flux.merge(
+                        productService.getProductById(1L),
+                        productService.getProductById(2L),
+                        productService.getProductById(3L)
+                ).collectList())
+                .expectNextMatches(products -> products.size() == 2 && products.containsAll(List.of(product1, product2)))
+                .verifyComplete();
+        verify(productRepository, times(1)).findByIdIn(any(Long[].class));
+    }
+
+    @Test
+    void getProductsByIds_shouldKeepRequestOrderAndReportMissingIds() {
+        // Given
+        Product product1 = createProduct(1L, "Laptop", BigDecimal.valueOf(1000));
+        Product product2 = createProduct(2L, "Mouse", BigDecimal.valueOf(50));
+        when(productRepository.findByIdIn(any(Long[].class)))
+                .thenReturn(Flux.just(product1, product2));
+
+        // When & Then
+        StepVerifier.create(productService.getProductsByIds(List.of(2L, 99L, 1L, 2L)))
+                .expectNextMatches(response ->
+                        response.getProducts().equals(List.of(product2, product1)) &&
+                        response.getMissingIds().equals(List.of(99L))
+                )
+                .verifyComplete();
+    }
+
     @Test
     void createProduct_shouldSaveProduct() {
         // Given
@@ -115,6 +182,19 @@ class ProductServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void updateProduct_shouldFailWithNotFoundWhenMissing() {
+        // Given
+        when(productRepository.findById(99L))
+                .thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productService.updateProduct(99L, new ProductRequest("Name", null, BigDecimal.ONE, 1)))
+                .expectErrorMatches(error -> error == NotFoundException.PRODUCT
+                        && error.getStackTrace().length == 0)
+                .verify();
+    }
+
     @Test
     void deleteProduct_shouldDeleteProduct() {
         // Given
@@ -130,6 +210,53 @@ class ProductServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void deleteProduct_shouldFailWithNotFoundWhenMissing() {
+        // Given
+        when(productRepository.findById(99L))
+                .thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(productService.deleteProduct(99L))
+                .expectError(NotFoundException.class)
+                .verify();
+        verify(productRepository, never()).delete(any(Product.class));
+    }
+
+    @Test
+    void searchProductsByName_shouldServeRepeatedQueriesFromCacheUntilCatalogChanges() {
+        // Given
+        Product laptop = createProduct(1L, "Laptop", BigDecimal.valueOf(1000));
+        
+        when(productRepository.findByNameContainingIgnoreCase(any()))
+                .thenReturn(Flux.just(laptop));
+        when(productRepository.save(any(Product.class)))
+                .thenAnswer(invocation -> {
+                    Product saved = invocation.getArgument(0);
+                    saved.setId(2L);
+                    return Mono.just(saved);
+                });
+
+        // When & Then - same normalized query is answered from the cache
+        StepVerifier.create(productService.searchProductsByName("lap"))
+                .expectNext(laptop)
+                .verifyComplete();
+        StepVerifier.create(productService.searchProductsByName("LAP"))
+                .expectNext(laptop)
+                .verifyComplete();
+        verify(productRepository, times(1)).findByNameContainingIgnoreCase(any());
+
+        // A write bumps the catalog version and invalidates cached results
+        StepVerifier.create(productService.createProduct(
+                        new ProductRequest("Laptop Pro", null, BigDecimal.TEN, 1)))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(productService.searchProductsByName("lap"))
+                .expectNext(laptop)
+                .verifyComplete();
+        verify(productRepository, times(2)).findByNameContainingIgnoreCase(any());
+    }
+
     private Product createProduct(Long id, String name, BigDecimal price) {
         Product product = new Product();
         product.setId(id);